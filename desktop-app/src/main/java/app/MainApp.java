@@ -1,16 +1,31 @@
 package app;
 
+import config.AppContext;
 import config.SceneManager;
+import config.ShutdownCoordinator;
 import javafx.application.Application;
 import javafx.stage.Stage;
 
 public class MainApp extends Application {
+    // Runs before the window opens, off the FX thread: build the shared services once
+    @Override
+    public void init() {
+        // Installs the JVM hook as well, in case the app is killed without stop()
+        ShutdownCoordinator.getInstance();
+        AppContext.getInstance().start();
+    }
+
     @Override
     public void start(Stage primaryStage) {
         SceneManager.getInstance().setStage(primaryStage);
         SceneManager.getInstance().switchTo("login");
     }
 
+    @Override
+    public void stop() {
+        ShutdownCoordinator.getInstance().shutdown();
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
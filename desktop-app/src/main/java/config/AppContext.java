@@ -0,0 +1,192 @@
+package config;
+
+import repository.FilmRepository;
+import repository.GenreRepository;
+import repository.QueryExecutor;
+import repository.UserRepository;
+import service.FilmService;
+import service.GenreDictionary;
+import service.ImageService;
+import service.RecommendationService;
+import service.SessionService;
+import service.TmdbService;
+import service.UserService;
+import service.WarmupService;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Application-wide registry of services and repositories.
+ * Each type is built once from its factory, either at startup (eager) or on first use (lazy),
+ * so controllers share the same instances instead of creating their own on every navigation.
+ * Shutdown hooks run in reverse registration order when the application stops.
+ */
+public class AppContext {
+    private static AppContext instance;
+
+    private final Map<Class<?>, Function<AppContext, ?>> factories = new LinkedHashMap<>();
+    private final Set<Class<?>> eagerTypes = new HashSet<>();
+    private final Map<Class<?>, Object> singletons = new HashMap<>();
+    // Types being built right now, to report dependency cycles instead of overflowing the stack
+    private final Set<Class<?>> creating = new HashSet<>();
+    private final Deque<NamedHook> shutdownHooks = new ArrayDeque<>();
+    private boolean shutDown;
+
+    private record NamedHook(String name, Runnable action) {}
+
+    // Empty context; the application uses getInstance()
+    AppContext() {}
+
+    public static synchronized AppContext getInstance() {
+        if (instance == null) {
+            instance = createDefault();
+        }
+        return instance;
+    }
+
+    // Wiring of the desktop application
+    private static AppContext createDefault() {
+        AppContext context = new AppContext();
+
+        // Infrastructure: opening the driver and the task pools early keeps the first screen fast
+        context.register(QueryExecutor.class, c -> QueryExecutor.getInstance(), true);
+        context.register(UiTaskScheduler.class, c -> UiTaskScheduler.getInstance(), true);
+        context.register(ImageService.class, c -> ImageService.getInstance(), false);
+        context.register(SessionService.class, c -> SessionService.getInstance(), false);
+
+        // Repositories
+        context.register(FilmRepository.class, c -> new FilmRepository(), false);
+        context.register(GenreRepository.class, c -> new GenreRepository(), false);
+        context.register(UserRepository.class, c -> new UserRepository(), false);
+
+        // Services
+        context.register(TmdbService.class, c -> {
+            // Responses saved by the previous run (see ShutdownCoordinator)
+            TmdbService.restoreCaches(Neo4jConfig.getCacheDir().resolve("tmdb-cache.bin"));
+            return new TmdbService();
+        }, true);
+        context.register(GenreDictionary.class, c -> {
+            GenreDictionary genres = GenreDictionary.getInstance();
+            GenreDictionary.startRefresh();
+            return genres;
+        }, true);
+        context.register(UserService.class, c -> new UserService(c.get(UserRepository.class)), true);
+        context.register(FilmService.class, c -> new FilmService(
+                c.get(FilmRepository.class), c.get(GenreRepository.class), c.get(TmdbService.class)), false);
+        context.register(RecommendationService.class, c -> new RecommendationService(
+                c.get(FilmRepository.class), c.get(GenreRepository.class), c.get(TmdbService.class)), false);
+        context.register(WarmupService.class, c -> new WarmupService(c.get(QueryExecutor.class),
+                c.get(TmdbService.class), c.get(FilmService.class), c.get(RecommendationService.class)), false);
+
+        // Stop what uses the driver before closing it
+        context.addShutdownHook("neo4j", Neo4jConfig::close);
+        context.addShutdownHook("tmdb", TmdbService::shutdown);
+        context.addShutdownHook("genres", GenreDictionary::stopRefresh);
+        return context;
+    }
+
+    // ==================== REGISTRATION ====================
+
+    public synchronized <T> void register(Class<T> type, Function<AppContext, T> factory, boolean eager) {
+        factories.put(type, factory);
+        singletons.remove(type);
+        if (eager) {
+            eagerTypes.add(type);
+        } else {
+            eagerTypes.remove(type);
+        }
+    }
+
+    // Register an already built instance (tests, or objects created outside the context)
+    public synchronized <T> void registerInstance(Class<T> type, T value) {
+        factories.put(type, c -> value);
+        singletons.put(type, value);
+    }
+
+    public synchronized void addShutdownHook(String name, Runnable action) {
+        shutdownHooks.push(new NamedHook(name, action));
+    }
+
+    // ==================== LOOKUP ====================
+
+    /**
+     * Get the shared instance of a type, building it (and its dependencies) on first use
+     */
+    public synchronized <T> T get(Class<T> type) {
+        Object existing = singletons.get(type);
+        if (existing != null) {
+            return type.cast(existing);
+        }
+        Function<AppContext, ?> factory = factories.get(type);
+        if (factory == null) {
+            throw new IllegalArgumentException("No factory registered for " + type.getName());
+        }
+        if (!creating.add(type)) {
+            throw new IllegalStateException("Dependency cycle while creating " + type.getName());
+        }
+        try {
+            T created = type.cast(factory.apply(this));
+            singletons.put(type, created);
+            return created;
+        } finally {
+            creating.remove(type);
+        }
+    }
+
+    public synchronized boolean isCreated(Class<?> type) {
+        return singletons.containsKey(type);
+    }
+
+    // ==================== LIFECYCLE ====================
+
+    /**
+     * Build every eager singleton; called once at startup, off the FX thread
+     */
+    public void start() {
+        List<Class<?>> eager;
+        synchronized (this) {
+            eager = new ArrayList<>();
+            for (Class<?> type : factories.keySet()) {
+                if (eagerTypes.contains(type)) eager.add(type);
+            }
+        }
+        long start = System.nanoTime();
+        for (Class<?> type : eager) {
+            try {
+                get(type);
+            } catch (RuntimeException e) {
+                // A failing service must not prevent the window from opening
+                System.err.println("Eager init of " + type.getSimpleName() + " failed: " + e.getMessage());
+            }
+        }
+        System.out.println("[Context] " + eager.size() + " services ready in " + (System.nanoTime() - start) / 1_000_000 + "ms");
+    }
+
+    /**
+     * Run shutdown hooks once, most recently registered first
+     */
+    public void shutdown() {
+        List<NamedHook> hooks;
+        synchronized (this) {
+            if (shutDown) return;
+            shutDown = true;
+            hooks = new ArrayList<>(shutdownHooks);
+        }
+        for (NamedHook hook : hooks) {
+            try {
+                hook.action().run();
+            } catch (RuntimeException e) {
+                System.err.println("Shutdown hook '" + hook.name() + "' failed: " + e.getMessage());
+            }
+        }
+    }
+}
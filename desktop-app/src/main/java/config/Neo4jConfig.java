@@ -4,6 +4,8 @@ import org.neo4j.driver.*;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Properties;
 
 public class Neo4jConfig {
@@ -42,6 +44,12 @@ public class Neo4jConfig {
         return properties.getProperty(key, defaultValue);
     }
 
+    // Root directory of the local caches (images, TMDB responses)
+    public static Path getCacheDir() {
+        String defaultDir = Paths.get(System.getProperty("user.home"), ".guelya-time", "cache").toString();
+        return Paths.get(properties.getProperty("cache.dir", defaultDir));
+    }
+
     public static void close() {
         if (driver != null) {
             driver.close();
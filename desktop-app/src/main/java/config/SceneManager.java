@@ -1,6 +1,12 @@
 package config;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -11,12 +17,29 @@ import model.Acteur;
 import model.Film;
 
 public class SceneManager {
+    // Screens usually opened next, loaded in the background once a screen is shown
+    private static final Map<String, List<String>> LIKELY_NEXT = Map.of(
+            "login", List.of("dashboard", "onboarding"),
+            "onboarding", List.of("dashboard"),
+            "dashboard", List.of("movie-details"),
+            "movie-details", List.of("actor-details")
+    );
+
     private static SceneManager instance;
     private Stage primaryStage;
     private Film selectedFilm;
     private Acteur selectedActeur;
 
-    private SceneManager() {}
+    // Parsed views and their controllers, kept between visits
+    private final Map<String, CompletableFuture<LoadedScreen>> screens = new ConcurrentHashMap<>();
+    private final boolean preloadEnabled;
+    private Object currentController;
+
+    private record LoadedScreen(Parent root, Object controller) {}
+
+    private SceneManager() {
+        this.preloadEnabled = Boolean.parseBoolean(Neo4jConfig.getProperty("scenes.preload", "true"));
+    }
 
     public static SceneManager getInstance() {
         if (instance == null) instance = new SceneManager();
@@ -41,7 +64,14 @@ public class SceneManager {
             boolean wasFullScreen = primaryStage != null && primaryStage.isFullScreen();
             boolean wasMaximized = primaryStage != null && primaryStage.isMaximized();
 
-            Parent root = FXMLLoader.load(getClass().getResource("/fxml/" + fxmlName + ".fxml"));
+            if (currentController instanceof ScreenLifecycle screen) {
+                screen.onHide();
+            }
+            // Cancel background work of the screen being left
+            UiTaskScheduler.getInstance().openScope(fxmlName);
+
+            LoadedScreen loaded = getScreen(fxmlName);
+            Parent root = loaded.root();
 
             // If a Scene already exists, reuse it to avoid losing fullscreen/window state.
             if (primaryStage.getScene() == null) {
@@ -73,10 +103,54 @@ public class SceneManager {
             }
 
             primaryStage.show();
+
+            currentController = loaded.controller();
+            if (currentController instanceof ScreenLifecycle screen) {
+                screen.onShow();
+            }
+            preloadNext(fxmlName);
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
+
+    // Cached screen, waiting for it if it is being preloaded
+    private LoadedScreen getScreen(String fxmlName) throws IOException {
+        CompletableFuture<LoadedScreen> cached = screens.get(fxmlName);
+        if (cached != null) {
+            try {
+                return cached.join();
+            } catch (CompletionException e) {
+                // Preload failed: load it again below
+                screens.remove(fxmlName, cached);
+            }
+        }
+        LoadedScreen loaded = loadScreen(fxmlName);
+        screens.put(fxmlName, CompletableFuture.completedFuture(loaded));
+        return loaded;
+    }
+
+    private LoadedScreen loadScreen(String fxmlName) throws IOException {
+        long start = System.nanoTime();
+        FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/" + fxmlName + ".fxml"));
+        Parent root = loader.load();
+        System.out.println("[Scene] " + fxmlName + " loaded in " + (System.nanoTime() - start) / 1_000_000 + "ms");
+        return new LoadedScreen(root, loader.getController());
+    }
+
+    // Parse the screens likely to come next off the FX thread, so switching to them is instant
+    private void preloadNext(String fxmlName) {
+        if (!preloadEnabled) return;
+        for (String next : LIKELY_NEXT.getOrDefault(fxmlName, List.of())) {
+            screens.computeIfAbsent(next, name -> UiTaskScheduler.getInstance().submitDetached(() -> {
+                try {
+                    return loadScreen(name);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, null, null));
+        }
+    }
     
     public void showMovieDetails(Film film) {
         setSelectedFilm(film);
@@ -0,0 +1,15 @@
+package config;
+
+/**
+ * Implemented by controllers of cached screens.
+ * SceneManager keeps a screen's view and controller alive between visits, so data that
+ * depends on the session or on the current selection is refreshed in onShow instead of initialize.
+ */
+public interface ScreenLifecycle {
+
+    // Called every time the screen becomes visible, after its root was attached
+    default void onShow() {}
+
+    // Called when another screen replaces this one
+    default void onHide() {}
+}
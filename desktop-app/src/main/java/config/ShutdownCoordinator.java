@@ -0,0 +1,118 @@
+package config;
+
+import repository.QueryExecutor;
+import service.ImageService;
+import service.TmdbService;
+import service.WarmupService;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Orderly shutdown of the application, run once from Application.stop or from the JVM hook,
+ * whichever comes first. Phases run in order under a single deadline:
+ * stop new work, let pending writes finish, persist caches, then close resources.
+ */
+public class ShutdownCoordinator {
+    public enum Phase { DRAIN, FLUSH, PERSIST, CLOSE }
+
+    @FunctionalInterface
+    public interface Action {
+        // remainingMillis: time left before the deadline, for actions that wait
+        void run(long remainingMillis) throws Exception;
+    }
+
+    private record NamedAction(String name, Action action) {}
+
+    private static ShutdownCoordinator instance;
+
+    private final long timeoutMillis;
+    private final Map<Phase, List<NamedAction>> actions = new EnumMap<>(Phase.class);
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    ShutdownCoordinator(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+        for (Phase phase : Phase.values()) {
+            actions.put(phase, new ArrayList<>());
+        }
+    }
+
+    public static synchronized ShutdownCoordinator getInstance() {
+        if (instance == null) {
+            instance = createDefault();
+            ShutdownCoordinator coordinator = instance;
+            // Covers exits that bypass Application.stop (Ctrl+C, System.exit)
+            Runtime.getRuntime().addShutdownHook(new Thread(coordinator::shutdown, "shutdown"));
+        }
+        return instance;
+    }
+
+    private static ShutdownCoordinator createDefault() {
+        ShutdownCoordinator coordinator = new ShutdownCoordinator(
+                Long.parseLong(Neo4jConfig.getProperty("shutdown.timeout.ms", "5000")));
+
+        coordinator.register(Phase.DRAIN, "ui-tasks", remaining -> UiTaskScheduler.getInstance().shutdown());
+        coordinator.register(Phase.DRAIN, "image-downloads", remaining -> ImageService.shutdownIfStarted());
+        coordinator.register(Phase.DRAIN, "warmup", remaining -> {
+            AppContext context = AppContext.getInstance();
+            if (context.isCreated(WarmupService.class)) {
+                context.get(WarmupService.class).shutdown();
+            }
+        });
+        // Watchlist, favorites and onboarding writes run as detached tasks
+        coordinator.register(Phase.FLUSH, "pending-writes", remaining -> {
+            if (!UiTaskScheduler.getInstance().awaitWrites(remaining, TimeUnit.MILLISECONDS)) {
+                System.err.println("Shutdown deadline reached with writes still running");
+            }
+        });
+        coordinator.register(Phase.PERSIST, "tmdb-cache",
+                remaining -> TmdbService.persistCaches(Neo4jConfig.getCacheDir().resolve("tmdb-cache.bin")));
+        if (Boolean.parseBoolean(Neo4jConfig.getProperty("neo4j.query.report.on.exit", "true"))) {
+            coordinator.register(Phase.CLOSE, "query-report", remaining -> QueryExecutor.getInstance().printReport());
+        }
+        // TMDB request pool, then the Neo4j driver
+        coordinator.register(Phase.CLOSE, "app-context", remaining -> AppContext.getInstance().shutdown());
+        return coordinator;
+    }
+
+    public synchronized void register(Phase phase, String name, Action action) {
+        actions.get(phase).add(new NamedAction(name, action));
+    }
+
+    public boolean isShuttingDown() {
+        return started.get();
+    }
+
+    /**
+     * Run every phase once; later calls return immediately
+     */
+    public void shutdown() {
+        if (!started.compareAndSet(false, true)) return;
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        for (Phase phase : Phase.values()) {
+            List<NamedAction> phaseActions;
+            synchronized (this) {
+                phaseActions = new ArrayList<>(actions.get(phase));
+            }
+            for (NamedAction named : phaseActions) {
+                // Closing actions always run, even past the deadline, so resources are released
+                long remaining = Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+                try {
+                    named.action().run(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    System.err.println("Shutdown step '" + named.name() + "' interrupted");
+                } catch (Exception e) {
+                    System.err.println("Shutdown step '" + named.name() + "' failed: " + e.getMessage());
+                }
+            }
+        }
+        System.out.println("[Shutdown] completed in " + (System.nanoTime() - start) / 1_000_000 + "ms");
+    }
+}
@@ -0,0 +1,294 @@
+package config;
+
+import javafx.application.Platform;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs controller background work on a bounded pool of daemon threads.
+ * Work belongs to the scope of the screen that submitted it: SceneManager opens a new scope on every
+ * navigation and cancels the previous one, so results never reach a screen that is no longer shown.
+ * Tasks submitted with the same key while one is in flight are coalesced, and UI callbacks are
+ * delivered through Platform.runLater in batches.
+ */
+public class UiTaskScheduler {
+    private static UiTaskScheduler instance;
+
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService timer;
+    private final ConcurrentLinkedQueue<Runnable> uiQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private volatile TaskScope currentScope = new TaskScope("startup");
+
+    UiTaskScheduler(int threads) {
+        this.workers = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), daemonThreads("ui-task"));
+        this.workers.allowCoreThreadTimeOut(true);
+        this.timer = Executors.newSingleThreadScheduledExecutor(daemonThreads("ui-timer"));
+    }
+
+    public static synchronized UiTaskScheduler getInstance() {
+        if (instance == null) {
+            int defaultThreads = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors() * 2));
+            instance = new UiTaskScheduler(
+                    Integer.parseInt(Neo4jConfig.getProperty("ui.tasks.threads", String.valueOf(defaultThreads))));
+        }
+        return instance;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // ==================== SCOPES ====================
+
+    /**
+     * Start a new screen scope, cancelling everything still running for the previous screen
+     */
+    public TaskScope openScope(String name) {
+        TaskScope previous = currentScope;
+        currentScope = new TaskScope(name);
+        previous.cancel();
+        return currentScope;
+    }
+
+    public TaskScope currentScope() {
+        return currentScope;
+    }
+
+    // ==================== SUBMISSION ====================
+
+    /**
+     * Run work in the background for the current screen.
+     * If a task with the same key is already running in this screen, its result is shared instead.
+     */
+    public <T> CompletableFuture<T> submit(String key, Callable<T> work, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        return currentScope.submit(key, work, onSuccess, onError);
+    }
+
+    public <T> CompletableFuture<T> submit(Callable<T> work, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        return currentScope.submit(null, work, onSuccess, onError);
+    }
+
+    /**
+     * Run work that must finish even if the user navigates away (writes).
+     * Only its UI callbacks are dropped when the screen is left.
+     */
+    public <T> CompletableFuture<T> submitDetached(Callable<T> work, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        TaskScope scope = currentScope;
+        CompletableFuture<T> future = new CompletableFuture<>();
+        workers.execute(() -> complete(future, work));
+        deliver(scope, future, onSuccess, onError);
+        return future;
+    }
+
+    /**
+     * Hand the result of work started elsewhere (a prefetched page) to the current screen
+     */
+    public <T> void deliver(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        deliver(currentScope, future, onSuccess, onError);
+    }
+
+    /**
+     * Run a UI action after a delay, unless the screen is left first
+     */
+    public ScheduledFuture<?> schedule(long delay, TimeUnit unit, Runnable uiAction) {
+        TaskScope scope = currentScope;
+        ScheduledFuture<?> scheduled = timer.schedule(() -> runOnFx(() -> {
+            if (!scope.isCancelled()) uiAction.run();
+        }), delay, unit);
+        scope.track(scheduled);
+        return scheduled;
+    }
+
+    /**
+     * Queue an action for the FX thread; queued actions are drained in a single runLater pulse
+     */
+    public void runOnFx(Runnable action) {
+        uiQueue.add(action);
+        if (drainScheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::drainUiQueue);
+        }
+    }
+
+    private void drainUiQueue() {
+        drainScheduled.set(false);
+        Runnable action;
+        while ((action = uiQueue.poll()) != null) {
+            try {
+                action.run();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    // ==================== SHUTDOWN ====================
+
+    /**
+     * Stop accepting work and cancel the current screen's reads.
+     * Detached writes already submitted keep running; wait for them with awaitWrites.
+     */
+    public void shutdown() {
+        currentScope.cancel();
+        workers.shutdown();
+        timer.shutdownNow();
+    }
+
+    /**
+     * Wait for in-flight writes; interrupt whatever is left once the deadline passes
+     */
+    public boolean awaitWrites(long timeout, TimeUnit unit) throws InterruptedException {
+        if (workers.awaitTermination(timeout, unit)) {
+            return true;
+        }
+        workers.shutdownNow();
+        return false;
+    }
+
+    private static <T> void complete(CompletableFuture<T> future, Callable<T> work) {
+        if (future.isDone()) return;
+        try {
+            future.complete(work.call());
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+    }
+
+    private <T> void deliver(TaskScope scope, CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        future.whenComplete((result, error) -> {
+            if (scope.isCancelled() || future.isCancelled()) return;
+            Throwable cause = unwrap(error);
+            runOnFx(() -> {
+                if (scope.isCancelled()) return;
+                if (cause == null) {
+                    if (onSuccess != null) onSuccess.accept(result);
+                } else if (onError != null) {
+                    onError.accept(cause);
+                } else {
+                    cause.printStackTrace();
+                }
+            });
+        });
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        if ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+
+    /**
+     * Background work owned by one screen
+     */
+    public final class TaskScope {
+        private final String name;
+        private volatile boolean cancelled;
+        private final Map<String, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+        private final Set<Future<?>> pending = ConcurrentHashMap.newKeySet();
+
+        private TaskScope(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @SuppressWarnings("unchecked")
+        public <T> CompletableFuture<T> submit(String key, Callable<T> work, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+            if (cancelled) {
+                CompletableFuture<T> rejected = new CompletableFuture<>();
+                rejected.completeExceptionally(new CancellationException("Scope " + name + " is closed"));
+                return rejected;
+            }
+            CompletableFuture<T> future = new CompletableFuture<>();
+            if (key != null) {
+                CompletableFuture<?> existing = inFlight.putIfAbsent(key, future);
+                if (existing != null) {
+                    future = (CompletableFuture<T>) existing;
+                    deliver(this, future, onSuccess, onError);
+                    return future;
+                }
+            }
+            // Only started once the key is registered, so a task that completes at once still clears it
+            start(key, future, work);
+            deliver(this, future, onSuccess, onError);
+            return future;
+        }
+
+        private <T> void start(String key, CompletableFuture<T> future, Callable<T> work) {
+            FutureTask<Void> task = new FutureTask<>(() -> {
+                // cancel() may free a worker before it reaches this queued task: never start it late
+                if (cancelled) {
+                    future.completeExceptionally(new CancellationException("Scope " + name + " is closed"));
+                    return;
+                }
+                complete(future, work);
+            }, null) {
+                @Override
+                protected void done() {
+                    // A task cancelled before it ran would otherwise leave its future pending forever
+                    if (isCancelled() && !future.isDone()) {
+                        future.completeExceptionally(new CancellationException("Scope " + name + " is closed"));
+                    }
+                }
+            };
+            future.whenComplete((result, error) -> {
+                pending.remove(task);
+                if (key != null) inFlight.remove(key, future);
+                // Cancelling the future interrupts the worker running it
+                if (future.isCancelled()) task.cancel(true);
+            });
+            track(task);
+            if (!task.isDone()) workers.execute(task);
+        }
+
+        private void track(Future<?> task) {
+            pending.add(task);
+            if (cancelled) task.cancel(true);
+        }
+
+        public void cancel() {
+            cancelled = true;
+            for (CompletableFuture<?> future : inFlight.values()) {
+                future.cancel(true);
+            }
+            for (Future<?> task : pending) {
+                task.cancel(true);
+            }
+            inFlight.clear();
+            pending.clear();
+        }
+    }
+}
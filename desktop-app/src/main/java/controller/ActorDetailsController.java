@@ -1,24 +1,26 @@
 package controller;
 
+import config.AppContext;
 import config.SceneManager;
-import javafx.application.Platform;
+import config.ScreenLifecycle;
+import config.UiTaskScheduler;
 import javafx.fxml.FXML;
 import javafx.geometry.Pos;
 import javafx.scene.Cursor;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.scene.shape.Rectangle;
 import model.Acteur;
 import model.Film;
+import service.ImageService;
 import service.TmdbService;
 
 import java.util.List;
 
-public class ActorDetailsController {
+public class ActorDetailsController implements ScreenLifecycle {
     
     @FXML private ImageView profileImage;
     @FXML private Label nameLabel;
@@ -30,14 +32,16 @@ public class ActorDetailsController {
     @FXML private Button backButton;
     
     private TmdbService tmdbService;
+    private final UiTaskScheduler tasks = UiTaskScheduler.getInstance();
+    private final ImageService images = ImageService.getInstance();
     private Acteur currentActeur;
     
     public ActorDetailsController() {
-        this.tmdbService = new TmdbService();
+        this.tmdbService = AppContext.getInstance().get(TmdbService.class);
     }
     
-    @FXML
-    public void initialize() {
+    @Override
+    public void onShow() {
         // Get actor from SceneManager
         Acteur acteur = SceneManager.getInstance().getSelectedActeur();
         if (acteur != null) {
@@ -47,9 +51,20 @@ public class ActorDetailsController {
     
     public void setActeur(Acteur acteur) {
         this.currentActeur = acteur;
+        resetView();
         loadActorDetails();
     }
     
+    // The view is reused between actors: clear what the previous one left behind
+    private void resetView() {
+        profileImage.setImage(null);
+        birthdayLabel.setText("");
+        birthplaceLabel.setText("");
+        popularityLabel.setText("0");
+        biographyLabel.setText("No biography available.");
+        knownForContainer.getChildren().clear();
+    }
+    
     private void loadActorDetails() {
         if (currentActeur == null) return;
         
@@ -59,29 +74,20 @@ public class ActorDetailsController {
         // Load profile image
         String profileUrl = currentActeur.getLargeProfileUrl();
         if (profileUrl != null) {
-            try {
-                profileImage.setImage(new Image(profileUrl, true));
-            } catch (Exception e) {
-                // Use placeholder
-            }
+            images.load(profileImage, profileUrl);
         }
         
         // Load full details from API
-        new Thread(() -> {
-            try {
-                Acteur fullDetails = tmdbService.getActorDetails(currentActeur.getId());
-                List<Film> movies = tmdbService.getActorMovies(currentActeur.getId(), 12);
-                
-                Platform.runLater(() -> {
-                    if (fullDetails != null) {
-                        displayActorDetails(fullDetails);
-                    }
-                    displayKnownFor(movies);
-                });
-            } catch (Exception e) {
-                e.printStackTrace();
+        long acteurId = currentActeur.getId();
+        tasks.submit("actor:" + acteurId, () -> new ActorInfo(
+                tmdbService.getActorDetails(acteurId),
+                tmdbService.getActorMovies(acteurId, 12)
+        ), info -> {
+            if (info.details() != null) {
+                displayActorDetails(info.details());
             }
-        }).start();
+            displayKnownFor(info.movies());
+        }, Throwable::printStackTrace);
     }
     
     private void displayActorDetails(Acteur acteur) {
@@ -118,11 +124,7 @@ public class ActorDetailsController {
         if (acteur.getProfilePath() != null) {
             String profileUrl = acteur.getLargeProfileUrl();
             if (profileUrl != null) {
-                try {
-                    profileImage.setImage(new Image(profileUrl, true));
-                } catch (Exception e) {
-                    // Keep existing
-                }
+                images.load(profileImage, profileUrl);
             }
         }
     }
@@ -156,11 +158,7 @@ public class ActorDetailsController {
         
         String posterUrl = film.getFullPosterUrl();
         if (posterUrl != null) {
-            try {
-                posterView.setImage(new Image(posterUrl, true));
-            } catch (Exception e) {
-                // Use placeholder style
-            }
+            images.load(posterView, posterUrl, 140, 210);
         }
         
         // Movie Title
@@ -207,4 +205,7 @@ public class ActorDetailsController {
             SceneManager.getInstance().switchTo("dashboard");
         }
     }
+    
+    // Full actor details and filmography, loaded together in the background
+    private record ActorInfo(Acteur details, List<Film> movies) {}
 }
@@ -1,55 +1,96 @@
 package controller;
 
 import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
+import config.AppContext;
 import config.SceneManager;
-import javafx.application.Platform;
+import config.ScreenLifecycle;
+import config.UiTaskScheduler;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
-import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.VBox;
 import model.Film;
 import model.User;
+import repository.FilmRepository;
 import service.FilmService;
 import service.RecommendationService;
 import service.SessionService;
+import service.WarmupService;
 
-public class DashboardController {
+public class DashboardController implements ScreenLifecycle {
+    private static final int PAGE_SIZE = 20;
+    // Films read per query when showing the user's lists
+    private static final int USER_LIST_PAGE = 50;
+    // Typing pause before a search runs, and the shortest query searched while typing
+    private static final long SEARCH_DEBOUNCE_MS = 300;
+    private static final int MIN_SEARCH_LENGTH = 2;
     
     @FXML private TextField searchField;
     @FXML private Label usernameLabel;
     @FXML private Label sectionTitle;
-    @FXML private FlowPane filmsContainer;
+    @FXML private FilmGridView filmsContainer;
     @FXML private Label loadingLabel;
     @FXML private VBox contentArea;
     @FXML private Button showMoreButton;
     
     private FilmService filmService;
     private RecommendationService recommendationService;
+    private WarmupService warmupService;
+    private final UiTaskScheduler tasks = UiTaskScheduler.getInstance();
     private int currentPage = 1;
     private String currentSection = "popular";
     private String currentSearchQuery = "";
-    private java.util.Set<Long> displayedFilmIds = new java.util.HashSet<>();
+    private java.util.Set<Long> displayedFilmIds = java.util.concurrent.ConcurrentHashMap.newKeySet();
+    // Pages of the current section and query (null for the user lists)
+    private SectionPager pager;
+    // Incremented on every section change; results of an older section are dropped
+    private volatile int sectionGeneration;
+    // Search waiting for the user to stop typing
+    private ScheduledFuture<?> pendingSearch;
+    // Pages of the current pager are saved to Neo4j once shown (popular films and explicit
+    // searches; results of a search typed as you go are not written unless a film is opened)
+    private boolean persistShownPages;
+    // User the screen was last filled for (the view is cached across logins)
+    private String shownUserId;
+    // A page request was interrupted by navigation and must be sent again
+    private boolean loadPending;
     
     public DashboardController() {
-        this.filmService = new FilmService();
-        this.recommendationService = new RecommendationService();
+        this.filmService = AppContext.getInstance().get(FilmService.class);
+        this.recommendationService = AppContext.getInstance().get(RecommendationService.class);
+        this.warmupService = AppContext.getInstance().get(WarmupService.class);
     }
     
     @FXML
     public void initialize() {
+        filmsContainer.setOnFilmSelected(this::showFilmDetails);
+        searchField.textProperty().addListener((obs, oldVal, newVal) -> scheduleSearch(newVal));
+    }
+    
+    @Override
+    public void onShow() {
         // show current user
         User user = SessionService.getInstance().getCurrentUser();
-        if (user != null) {
-            usernameLabel.setText("Hello, " + user.getUsername());
-        }
+        if (user == null) return;
+        usernameLabel.setText("Hello, " + user.getUsername());
         
-        // show recommendations by default after login
-        showRecommendations();
+        if (!user.getId().equals(shownUserId)) {
+            // show recommendations by default after login
+            shownUserId = user.getId();
+            searchField.clear();
+            showRecommendations();
+        } else if (currentSection.equals("watchlist")) {
+            // lists may have changed on the details screen
+            showWatchlist();
+        } else if (currentSection.equals("favorites")) {
+            showFavorites();
+        } else if (loadPending) {
+            loadFilms(currentPage > 1);
+        }
     }
     
     @FXML
@@ -57,8 +98,9 @@ public class DashboardController {
         currentSection = "recommendation";
         currentPage = 1;
         sectionTitle.setText("Recommendations for You");
-        filmsContainer.getChildren().clear();
+        filmsContainer.clear();
         displayedFilmIds.clear();
+        openPager();
         loadFilms(false);
     }
     
@@ -67,8 +109,9 @@ public class DashboardController {
         currentSection = "popular";
         currentPage = 1;
         sectionTitle.setText("Popular Movies");
-        filmsContainer.getChildren().clear();
+        filmsContainer.clear();
         displayedFilmIds.clear();
+        openPager();
         loadFilms(false);
     }
     
@@ -77,13 +120,14 @@ public class DashboardController {
         currentSection = "watchlist";
         currentPage = 1;
         sectionTitle.setText("My List");
-        filmsContainer.getChildren().clear();
+        filmsContainer.clear();
         displayedFilmIds.clear();
+        openPager();
         showMoreButton.setVisible(false);
         
         User user = SessionService.getInstance().getCurrentUser();
         if (user != null) {
-            loadUserList(() -> filmService.getUserWatchlist(user.getId()));
+            loadUserList(currentSection, FilmRepository.UserList.WATCHLIST, user.getId());
         }
     }
     
@@ -92,187 +136,216 @@ public class DashboardController {
         currentSection = "favorites";
         currentPage = 1;
         sectionTitle.setText("Favorites");
-        filmsContainer.getChildren().clear();
+        filmsContainer.clear();
         displayedFilmIds.clear();
+        openPager();
         showMoreButton.setVisible(false);
         
         User user = SessionService.getInstance().getCurrentUser();
         if (user != null) {
-            loadUserList(() -> filmService.getUserFavorites(user.getId()));
+            loadUserList(currentSection, FilmRepository.UserList.FAVORITES, user.getId());
         }
     }
     
     @FXML
     private void handleSearch() {
+        cancelPendingSearch();
         String query = searchField.getText().trim();
         if (!query.isEmpty()) {
-            currentSection = "search";
-            currentSearchQuery = query;
-            currentPage = 1;
-            sectionTitle.setText("Results for: " + query);
-            filmsContainer.getChildren().clear();
-            displayedFilmIds.clear();
-            loadFilms(false);
+            search(query, true);
+        }
+    }
+    
+    // Search as the user types, once they pause
+    private void scheduleSearch(String text) {
+        cancelPendingSearch();
+        String query = text.trim();
+        if (query.length() < MIN_SEARCH_LENGTH) return;
+        if (currentSection.equals("search") && query.equals(currentSearchQuery)) return;
+        pendingSearch = tasks.schedule(SEARCH_DEBOUNCE_MS, TimeUnit.MILLISECONDS, () -> search(query, false));
+    }
+    
+    private void cancelPendingSearch() {
+        if (pendingSearch != null) {
+            pendingSearch.cancel(false);
+            pendingSearch = null;
+        }
+    }
+    
+    // submitted: the user pressed Enter, so the results they get are worth keeping
+    private void search(String query, boolean submitted) {
+        currentSection = "search";
+        currentSearchQuery = query;
+        currentPage = 1;
+        sectionTitle.setText("Results for: " + query);
+        displayedFilmIds.clear();
+        // a new pager also cancels the TMDB request of the previous query
+        openPager();
+        persistShownPages = submitted;
+        
+        // Titles already known are shown right away; TMDB results are appended when they arrive
+        List<Film> localFilms = filmService.searchLocal(query, PAGE_SIZE);
+        if (localFilms.isEmpty()) {
+            filmsContainer.clear();
+        } else {
+            displayFilms(localFilms, false);
         }
+        loadFilms(true);
     }
     
     @FXML
     private void loadMoreMovies() {
+        // usually already prefetched while the previous page was shown
         currentPage++;
         loadFilms(true);
     }
     
     @FXML
     private void handleLogout() {
+        warmupService.clearUser();
         SessionService.getInstance().logout();
         SceneManager.getInstance().switchTo("login");
     }
     
+    // Replace the pager when the section or the query changes (cancels the old prefetch,
+    // and late pages of a user list are dropped)
+    private void openPager() {
+        if (pager != null) {
+            pager.close();
+        }
+        sectionGeneration++;
+        // pagers only read from TMDB: prefetched pages are not written until shown
+        persistShownPages = currentSection.equals("popular");
+        pager = createPager(currentSection, currentSearchQuery);
+    }
+    
+    private SectionPager createPager(String section, String query) {
+        switch (section) {
+            case "search":
+                return new SectionPager("search:" + query, page -> filmService.fetchSearchResults(query, page));
+            case "recommendation":
+                String userId = SessionService.getInstance().getCurrentUser().getId();
+                return new SectionPager("recommendation:" + userId, page -> fetchRecommendations(userId, page));
+            case "popular":
+                return new SectionPager("popular", filmService::fetchPopularFilms);
+            default:
+                // user lists are loaded in one piece
+                return null;
+        }
+    }
+    
     private void loadFilms(boolean append) {
+        loadPending = true;
+        // the cached view may still show a previous message
+        loadingLabel.setText("Loading...");
         loadingLabel.setVisible(true);
         showMoreButton.setDisable(true);
         
-        new Thread(() -> {
-            try {
-                List<Film> films;
-                User user = SessionService.getInstance().getCurrentUser();
-                
-                switch (currentSection) {
-                    case "search":
-                        films = filmService.searchFilms(currentSearchQuery, currentPage);
-                        break;
-                    case "recommendation":
-                        // Request a page worth of recommendations and filter out already shown ones.
-                        List<Film> recs = recommendationService.getPersonalizedRecommendations(user.getId(), 20);
-                        // Filter duplicates that were already displayed
-                        films = recs.stream()
-                                .filter(f -> !displayedFilmIds.contains(f.getId()))
-                                .collect(java.util.stream.Collectors.toList());
-                        break;
-                    case "popular":
-                    default:
-                        films = filmService.getPopularFilms(currentPage);
-                        break;
+        SectionPager sectionPager = pager;
+        tasks.deliver(sectionPager.page(currentPage), films -> {
+            // Ignore results of a section or query the user already left
+            if (sectionPager != pager) return;
+            loadPending = false;
+            loadingLabel.setVisible(false);
+            // Pages can overlap (recommendations, TMDB re-ranking between pages)
+            List<Film> newFilms = films.stream()
+                    .filter(f -> !displayedFilmIds.contains(f.getId()))
+                    .collect(java.util.stream.Collectors.toList());
+            displayFilms(newFilms, append);
+            persistShown(newFilms);
+            showMoreButton.setVisible(!films.isEmpty());
+            showMoreButton.setDisable(false);
+        }, error -> {
+            if (sectionPager != pager) return;
+            loadPending = false;
+            loadingLabel.setText("Error loading movies");
+            loadingLabel.setVisible(true);
+            showMoreButton.setDisable(false);
+            error.printStackTrace();
+        });
+    }
+    
+    // The first page uses the recommendations prepared at login when available;
+    // page N is the N-th slice of a longer recommendation list
+    private List<Film> fetchRecommendations(String userId, int page) {
+        if (page == 1) {
+            var prepared = warmupService.takeRecommendations(userId);
+            if (prepared.isPresent()) {
+                try {
+                    return prepared.get().join();
+                } catch (Exception e) {
+                    // warm-up failed: compute them now
                 }
-                
-                List<Film> finalFilms = films;
-                Platform.runLater(() -> {
-                    loadingLabel.setVisible(false);
-                    displayFilms(finalFilms, append);
-                    showMoreButton.setVisible(true);
-                    showMoreButton.setDisable(false);
-                });
-            } catch (Exception e) {
-                Platform.runLater(() -> {
-                    loadingLabel.setText("Error loading movies");
-                    loadingLabel.setVisible(true);
-                    showMoreButton.setDisable(false);
-                });
-                e.printStackTrace();
             }
-        }).start();
+        }
+        List<Film> recs = recommendationService.getPersonalizedRecommendations(userId, PAGE_SIZE * page);
+        return recs.subList(Math.min(recs.size(), PAGE_SIZE * (page - 1)), recs.size());
     }
     
-    private void loadUserList(FilmLoader loader) {
+    // Show a user list page by page, as each page arrives
+    private void loadUserList(String section, FilmRepository.UserList list, String userId) {
+        int generation = sectionGeneration;
+        loadingLabel.setText("Loading...");
         loadingLabel.setVisible(true);
         
-        new Thread(() -> {
-            try {
-                List<Film> films = loader.load();
-                Platform.runLater(() -> {
+        tasks.submit("list:" + section + ":" + generation, () -> {
+            filmService.streamUserList(userId, list, USER_LIST_PAGE, films -> {
+                // stop reading once the user switched section or left the screen
+                if (generation != sectionGeneration || Thread.currentThread().isInterrupted()) return false;
+                tasks.runOnFx(() -> {
+                    if (generation != sectionGeneration) return;
                     loadingLabel.setVisible(false);
-                    displayFilms(films, false);
-                });
-            } catch (Exception e) {
-                Platform.runLater(() -> {
-                    loadingLabel.setText("Error loading movies");
-                    loadingLabel.setVisible(true);
+                    displayFilms(films, true);
                 });
-                e.printStackTrace();
-            }
-        }).start();
+                return true;
+            });
+            return null;
+        }, null, error -> {
+            if (generation != sectionGeneration) return;
+            loadingLabel.setText("Error loading movies");
+            loadingLabel.setVisible(true);
+            error.printStackTrace();
+        });
     }
     
     private void displayFilms(List<Film> films, boolean append) {
-        if (!append) {
-            filmsContainer.getChildren().clear();
+        if (append) {
+            filmsContainer.addFilms(films);
+        } else {
+            filmsContainer.setFilms(films);
         }
         
-        if (films.isEmpty() && filmsContainer.getChildren().isEmpty()) {
+        if (filmsContainer.isEmpty()) {
             loadingLabel.setText("No movies found");
             loadingLabel.setVisible(true);
             showMoreButton.setVisible(false);
             return;
         }
         
+        // Track which films are displayed to avoid duplicates for recommendations
         for (Film film : films) {
-            VBox filmCard = createFilmCard(film);
-            filmsContainer.getChildren().add(filmCard);
-            // Track which films are displayed to avoid duplicates for recommendations
-            try { displayedFilmIds.add(film.getId()); } catch (Exception ignored) {}
+            displayedFilmIds.add(film.getId());
         }
     }
     
-    private VBox createFilmCard(Film film) {
-        VBox card = new VBox(8);
-        card.setStyle("-fx-background-color: #1a1a1a; -fx-padding: 12; -fx-cursor: hand; -fx-background-radius: 12;");
-        card.setPrefWidth(160);
-        
-        // poster image with container for rounded corners effect
-        ImageView poster = new ImageView();
-        poster.setFitWidth(140);
-        poster.setFitHeight(210);
-        poster.setPreserveRatio(true);
-        poster.setStyle("-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.4), 8, 0, 0, 4);");
-        
-        // Use smaller poster for faster loading in grid view
-        String posterUrl = film.getSmallPosterUrl();
-        if (posterUrl != null) {
-            try {
-                // backgroundLoading=true for async image loading
-                poster.setImage(new Image(posterUrl, 140, 210, true, true, true));
-            } catch (Exception e) {
-                // use placeholder if image fails
-            }
-        }
-        
-        // title
-        Label title = new Label(film.getTitle());
-        title.setStyle("-fx-text-fill: #ffffff; -fx-font-size: 13px; -fx-font-weight: bold;");
-        title.setWrapText(true);
-        title.setMaxWidth(140);
-        
-        // rating badge
-        Label rating = new Label("★ " + String.format("%.1f", film.getVoteAverage()));
-        rating.setStyle("-fx-background-color: rgba(241, 196, 15, 0.2); -fx-text-fill: #f1c40f; -fx-padding: 4 10; -fx-background-radius: 6; -fx-font-weight: bold;");
-        
-        card.getChildren().addAll(poster, title, rating);
-        
-        // Hover effect
-        card.setOnMouseEntered(e -> {
-            card.setStyle("-fx-background-color: #252525; -fx-padding: 12; -fx-cursor: hand; -fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(123, 91, 245, 0.4), 16, 0, 0, 6);");
-            card.setScaleX(1.03);
-            card.setScaleY(1.03);
-        });
-        card.setOnMouseExited(e -> {
-            card.setStyle("-fx-background-color: #1a1a1a; -fx-padding: 12; -fx-cursor: hand; -fx-background-radius: 12;");
-            card.setScaleX(1.0);
-            card.setScaleY(1.0);
-        });
-        
-        // click to view details
-        card.setOnMouseClicked(e -> showFilmDetails(film));
-        
-        return card;
+    // Write the films of a page the user actually saw; detached so leaving the screen does not
+    // interrupt the writes
+    private void persistShown(List<Film> films) {
+        if (!persistShownPages || films.isEmpty()) return;
+        tasks.submitDetached(() -> {
+            filmService.saveFilms(films);
+            return null;
+        }, null, error -> System.err.println("Saving shown films failed: " + error.getMessage()));
     }
-    
+
     private void showFilmDetails(Film film) {
+        if (currentSection.equals("search") && !persistShownPages) {
+            // typed search results are not stored until the user opens one
+            tasks.submitDetached(() -> {
+                filmService.saveFilm(film);
+                return null;
+            }, null, error -> System.err.println("Saving film failed: " + error.getMessage()));
+        }
         SceneManager.getInstance().showMovieDetails(film);
     }
-    
-    // helper interface for loading films
-    @FunctionalInterface
-    private interface FilmLoader {
-        List<Film> load();
-    }
 }
@@ -0,0 +1,219 @@
+package controller;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import model.Film;
+import service.ImageService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Virtualized grid of film cards.
+ * Films are split into rows shown by a ListView, so only the visible rows exist as nodes:
+ * cells and their cards are recycled while scrolling and posters load only for what is on screen.
+ * The number of columns follows the available width.
+ */
+public class FilmGridView extends StackPane {
+    private static final double CARD_WIDTH = 160;
+    private static final double CARD_HEIGHT = 310;
+    private static final double HGAP = 20;
+    private static final double VGAP = 25;
+    // Room for the vertical scroll bar
+    private static final double SCROLLBAR_WIDTH = 16;
+
+    private final List<Film> films = new ArrayList<>();
+    private final ObservableList<List<Film>> rows = FXCollections.observableArrayList();
+    private final ListView<List<Film>> listView = new ListView<>(rows);
+    private int columns = 1;
+    private Consumer<Film> onFilmSelected;
+
+    public FilmGridView() {
+        getStyleClass().add("film-grid");
+        listView.getStyleClass().add("film-grid-list");
+        listView.setFixedCellSize(CARD_HEIGHT + VGAP);
+        listView.setFocusTraversable(false);
+        listView.setCellFactory(list -> new RowCell());
+        listView.widthProperty().addListener((obs, oldWidth, newWidth) -> updateColumns(newWidth.doubleValue()));
+        getChildren().add(listView);
+    }
+
+    // ==================== CONTENT ====================
+
+    public void setFilms(List<Film> newFilms) {
+        films.clear();
+        films.addAll(newFilms);
+        rebuildRows();
+        if (!rows.isEmpty()) {
+            listView.scrollTo(0);
+        }
+    }
+
+    // Append a page without disturbing the scroll position
+    public void addFilms(List<Film> moreFilms) {
+        if (moreFilms.isEmpty()) return;
+        int firstChangedRow = films.size() / columns;
+        films.addAll(moreFilms);
+
+        // Only the last (partial) row and the new rows change
+        int rowCount = rowCount();
+        for (int row = firstChangedRow; row < rowCount; row++) {
+            List<Film> slice = slice(row);
+            if (row < rows.size()) {
+                rows.set(row, slice);
+            } else {
+                rows.add(slice);
+            }
+        }
+    }
+
+    public void clear() {
+        films.clear();
+        rows.clear();
+    }
+
+    public boolean isEmpty() {
+        return films.isEmpty();
+    }
+
+    public int size() {
+        return films.size();
+    }
+
+    public void setOnFilmSelected(Consumer<Film> onFilmSelected) {
+        this.onFilmSelected = onFilmSelected;
+    }
+
+    private void updateColumns(double width) {
+        double available = width - SCROLLBAR_WIDTH - listView.getInsets().getLeft() - listView.getInsets().getRight();
+        int fit = Math.max(1, (int) ((available + HGAP) / (CARD_WIDTH + HGAP)));
+        if (fit != columns) {
+            columns = fit;
+            rebuildRows();
+        }
+    }
+
+    private void rebuildRows() {
+        List<List<Film>> newRows = new ArrayList<>(rowCount());
+        for (int row = 0; row < rowCount(); row++) {
+            newRows.add(slice(row));
+        }
+        rows.setAll(newRows);
+    }
+
+    private int rowCount() {
+        return (films.size() + columns - 1) / columns;
+    }
+
+    private List<Film> slice(int row) {
+        int from = row * columns;
+        return List.copyOf(films.subList(from, Math.min(from + columns, films.size())));
+    }
+
+    // ==================== CELLS ====================
+
+    // One row of the grid; its cards are reused for whatever row the cell shows next
+    private class RowCell extends ListCell<List<Film>> {
+        private final HBox box = new HBox(HGAP);
+        private final List<FilmCard> cards = new ArrayList<>();
+
+        @Override
+        protected void updateItem(List<Film> row, boolean empty) {
+            super.updateItem(row, empty);
+            setText(null);
+            if (empty || row == null) {
+                setGraphic(null);
+                return;
+            }
+            while (cards.size() < row.size()) {
+                FilmCard card = new FilmCard();
+                cards.add(card);
+                box.getChildren().add(card);
+            }
+            for (int i = 0; i < cards.size(); i++) {
+                cards.get(i).show(i < row.size() ? row.get(i) : null);
+            }
+            setGraphic(box);
+        }
+    }
+
+    private class FilmCard extends VBox {
+        private static final String STYLE = "-fx-background-color: #1a1a1a; -fx-padding: 12; -fx-cursor: hand; -fx-background-radius: 12;";
+        private static final String HOVER_STYLE = "-fx-background-color: #252525; -fx-padding: 12; -fx-cursor: hand; -fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(123, 91, 245, 0.4), 16, 0, 0, 6);";
+
+        private final ImageView poster = new ImageView();
+        private final Label title = new Label();
+        private final Label rating = new Label();
+        private Film film;
+
+        FilmCard() {
+            super(8);
+            setStyle(STYLE);
+            setPrefWidth(CARD_WIDTH);
+            setMinHeight(CARD_HEIGHT);
+            setPrefHeight(CARD_HEIGHT);
+            setMaxHeight(CARD_HEIGHT);
+
+            poster.setFitWidth(140);
+            poster.setFitHeight(210);
+            poster.setPreserveRatio(true);
+            poster.setStyle("-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.4), 8, 0, 0, 4);");
+
+            title.setStyle("-fx-text-fill: #ffffff; -fx-font-size: 13px; -fx-font-weight: bold;");
+            title.setWrapText(true);
+            title.setMaxWidth(140);
+            // Two lines at most so every row has the same height
+            title.setMaxHeight(36);
+
+            rating.setStyle("-fx-background-color: rgba(241, 196, 15, 0.2); -fx-text-fill: #f1c40f; -fx-padding: 4 10; -fx-background-radius: 6; -fx-font-weight: bold;");
+
+            getChildren().addAll(poster, title, rating);
+
+            // Hover effect
+            setOnMouseEntered(e -> {
+                setStyle(HOVER_STYLE);
+                setScaleX(1.03);
+                setScaleY(1.03);
+            });
+            setOnMouseExited(e -> resetHover());
+
+            // click to view details
+            setOnMouseClicked(e -> {
+                if (film != null && onFilmSelected != null) {
+                    onFilmSelected.accept(film);
+                }
+            });
+        }
+
+        void show(Film film) {
+            if (film == this.film) return;
+            this.film = film;
+            setVisible(film != null);
+            setManaged(film != null);
+            resetHover();
+            poster.setImage(null);
+            // Use smaller poster for faster loading in grid view, decoded at card size.
+            // Always called: a null URL detaches the card from the previous film's pending download
+            String posterUrl = film != null ? film.getSmallPosterUrl() : null;
+            ImageService.getInstance().load(poster, posterUrl, 140, 210);
+            if (film == null) return;
+
+            title.setText(film.getTitle());
+            rating.setText("★ " + String.format("%.1f", film.getVoteAverage()));
+        }
+
+        private void resetHover() {
+            setStyle(STYLE);
+            setScaleX(1.0);
+            setScaleY(1.0);
+        }
+    }
+}
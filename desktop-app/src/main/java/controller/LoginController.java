@@ -2,10 +2,11 @@ package controller;
 
 import java.awt.Desktop;
 import java.net.URI;
-import java.util.Optional;
 
+import config.AppContext;
 import config.SceneManager;
-import javafx.application.Platform;
+import config.ScreenLifecycle;
+import config.UiTaskScheduler;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
@@ -14,8 +15,9 @@ import javafx.scene.control.TextField;
 import model.User;
 import service.SessionService;
 import service.UserService;
+import service.WarmupService;
 
-public class LoginController {
+public class LoginController implements ScreenLifecycle {
     @FXML
     private TextField usernameField;
 
@@ -33,11 +35,13 @@ public class LoginController {
 
 
     private UserService userService;
+    private WarmupService warmupService;
     
     private static final String REGISTER_URL = "http://localhost:3000/register";
 
     public LoginController(){
-        this.userService = new UserService();
+        this.userService = AppContext.getInstance().get(UserService.class);
+        this.warmupService = AppContext.getInstance().get(WarmupService.class);
 
     }
 
@@ -52,6 +56,17 @@ public class LoginController {
         passwordField.setOnAction(event -> handleLogin());
     }
 
+    // The view is cached: start from an empty form after a logout
+    @Override
+    public void onShow() {
+        passwordField.clear();
+        clearError();
+        resetLoginButton();
+        usernameField.requestFocus();
+        // Open connections and fetch the shared data while the user types
+        warmupService.warmUpApp();
+    }
+
     private void clearError() {
         errorLabel.setText("");
         errorLabel.setVisible(false);
@@ -90,38 +105,31 @@ public class LoginController {
         loginButton.setText("connexion");
 
         // Perform login in background thread
-        new Thread(() -> {
-            try {
-                Optional<User> userOpt = userService.login(ue.trim(), p);
+        UiTaskScheduler.getInstance().submit(() -> userService.login(ue.trim(), p), userOpt -> {
+            if (userOpt.isPresent()) {
+                // Login successful
+                User user = userOpt.get();
+                SessionService.getInstance().setCurrentUser(user);
+                System.out.println("Login successful for user: " + user.getUsername());
+                warmupService.warmUpUser(user);
                 
-                Platform.runLater(() -> {
-                    if (userOpt.isPresent()) {
-                        // Login successful
-                        User user = userOpt.get();
-                        SessionService.getInstance().setCurrentUser(user);
-                        System.out.println("Login successful for user: " + user.getUsername());
-                        
-                        // Check if user completed onboarding
-                        if (user.isOnboardingCompleted()) {
-                            SceneManager.getInstance().switchTo("dashboard");
-                        } else {
-                            SceneManager.getInstance().switchTo("onboarding");
-                        }
-                    } else {
-                        showError("Nom d'utilisateur/email ou mot de passe incorrect.");
-                        passwordField.clear();
-                        passwordField.requestFocus();
-                        resetLoginButton();
-                    }
-                });
-            } catch (Exception e) {
-                Platform.runLater(() -> {
-                    showError("Erreur de connexion: " + e.getMessage());
-                    resetLoginButton();
-                });
-                e.printStackTrace();
+                // Check if user completed onboarding
+                if (user.isOnboardingCompleted()) {
+                    SceneManager.getInstance().switchTo("dashboard");
+                } else {
+                    SceneManager.getInstance().switchTo("onboarding");
+                }
+            } else {
+                showError("Nom d'utilisateur/email ou mot de passe incorrect.");
+                passwordField.clear();
+                passwordField.requestFocus();
+                resetLoginButton();
             }
-        }).start();
+        }, error -> {
+            showError("Erreur de connexion: " + error.getMessage());
+            resetLoginButton();
+            error.printStackTrace();
+        });
     }
 
     @FXML
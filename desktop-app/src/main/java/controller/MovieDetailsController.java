@@ -1,13 +1,14 @@
 package controller;
 
+import config.AppContext;
 import config.SceneManager;
-import javafx.application.Platform;
+import config.ScreenLifecycle;
+import config.UiTaskScheduler;
 import javafx.fxml.FXML;
 import javafx.geometry.Pos;
 import javafx.scene.Cursor;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.HBox;
@@ -18,12 +19,15 @@ import model.Film;
 import model.Genre;
 import model.User;
 import service.FilmService;
+import service.ImageService;
 import service.SessionService;
 import service.TmdbService;
 
 import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
-public class MovieDetailsController {
+public class MovieDetailsController implements ScreenLifecycle {
     
     @FXML private ImageView posterImage;
     @FXML private Label titleLabel;
@@ -48,18 +52,21 @@ public class MovieDetailsController {
     
     private FilmService filmService;
     private TmdbService tmdbService;
+    private final UiTaskScheduler tasks = UiTaskScheduler.getInstance();
+    private final ImageService images = ImageService.getInstance();
+    private ScheduledFuture<?> hideStatusTask;
     private Film currentFilm;
     private Acteur currentDirector;
     private boolean isInWatchlist = false;
     private boolean isInFavorites = false;
     
     public MovieDetailsController() {
-        this.filmService = new FilmService();
-        this.tmdbService = new TmdbService();
+        this.filmService = AppContext.getInstance().get(FilmService.class);
+        this.tmdbService = AppContext.getInstance().get(TmdbService.class);
     }
     
-    @FXML
-    public void initialize() {
+    @Override
+    public void onShow() {
         // Get film from SceneManager
         Film film = SceneManager.getInstance().getSelectedFilm();
         if (film != null) {
@@ -69,12 +76,34 @@ public class MovieDetailsController {
     
     public void setFilm(Film film) {
         this.currentFilm = film;
+        resetView();
         displayFilmDetails();
         checkUserLists();
         loadCast();
         loadDirector();
     }
     
+    // The view is reused between films: clear what the previous film left behind
+    private void resetView() {
+        currentDirector = null;
+        isInWatchlist = false;
+        isInFavorites = false;
+        updateButtonStates();
+        watchlistButton.setDisable(false);
+        favoriteButton.setDisable(false);
+        statusLabel.setVisible(false);
+        
+        posterImage.setImage(null);
+        castContainer.getChildren().clear();
+        directorLabel.setText("");
+        directorPhoto.setImage(null);
+        directorPhoto.setVisible(true);
+        directorContainer.setOnMouseClicked(null);
+        directorFilmsContainer.getChildren().clear();
+        directorFilmsSection.setVisible(false);
+        directorFilmsSection.setManaged(false);
+    }
+    
     private void displayFilmDetails() {
         if (currentFilm == null) return;
         
@@ -84,11 +113,7 @@ public class MovieDetailsController {
         // Poster
         String posterUrl = currentFilm.getFullPosterUrl();
         if (posterUrl != null) {
-            try {
-                posterImage.setImage(new Image(posterUrl, true));
-            } catch (Exception e) {
-                // Use placeholder
-            }
+            images.load(posterImage, posterUrl);
         }
         
         // Rating
@@ -131,18 +156,15 @@ public class MovieDetailsController {
         User user = SessionService.getInstance().getCurrentUser();
         if (user == null || currentFilm == null) return;
         
-        new Thread(() -> {
-            try {
-                isInWatchlist = filmService.isInWatchlist(user.getId(), currentFilm.getId());
-                isInFavorites = filmService.isInFavorites(user.getId(), currentFilm.getId());
-                
-                Platform.runLater(() -> {
-                    updateButtonStates();
-                });
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        }).start();
+        long filmId = currentFilm.getId();
+        tasks.submit("userLists:" + filmId, () -> new boolean[] {
+                filmService.isInWatchlist(user.getId(), filmId),
+                filmService.isInFavorites(user.getId(), filmId)
+        }, states -> {
+            isInWatchlist = states[0];
+            isInFavorites = states[1];
+            updateButtonStates();
+        }, Throwable::printStackTrace);
     }
     
     private void updateButtonStates() {
@@ -170,30 +192,26 @@ public class MovieDetailsController {
         
         watchlistButton.setDisable(true);
         
-        new Thread(() -> {
-            try {
-                if (isInWatchlist) {
-                    filmService.removeFromWatchlist(user.getId(), currentFilm.getId());
-                    isInWatchlist = false;
-                    showStatus("Removed from My List");
-                } else {
-                    filmService.addToWatchlist(user.getId(), currentFilm.getId());
-                    isInWatchlist = true;
-                    showStatus("Added to My List!");
-                }
-                
-                Platform.runLater(() -> {
-                    updateButtonStates();
-                    watchlistButton.setDisable(false);
-                });
-            } catch (Exception e) {
-                Platform.runLater(() -> {
-                    showStatus("Error: " + e.getMessage());
-                    watchlistButton.setDisable(false);
-                });
-                e.printStackTrace();
+        boolean remove = isInWatchlist;
+        long filmId = currentFilm.getId();
+        // Detached: the write must complete even if the user navigates away
+        tasks.submitDetached(() -> {
+            if (remove) {
+                filmService.removeFromWatchlist(user.getId(), filmId);
+            } else {
+                filmService.addToWatchlist(user.getId(), filmId);
             }
-        }).start();
+            return !remove;
+        }, inList -> {
+            isInWatchlist = inList;
+            showStatus(inList ? "Added to My List!" : "Removed from My List");
+            updateButtonStates();
+            watchlistButton.setDisable(false);
+        }, error -> {
+            showStatus("Error: " + error.getMessage());
+            watchlistButton.setDisable(false);
+            error.printStackTrace();
+        });
     }
     
     @FXML
@@ -203,68 +221,50 @@ public class MovieDetailsController {
         
         favoriteButton.setDisable(true);
         
-        new Thread(() -> {
-            try {
-                if (isInFavorites) {
-                    filmService.removeFromFavorites(user.getId(), currentFilm.getId());
-                    isInFavorites = false;
-                    showStatus("Removed from Favorites");
-                } else {
-                    filmService.addToFavorites(user.getId(), currentFilm.getId());
-                    isInFavorites = true;
-                    showStatus("Added to Favorites!");
-                }
-                
-                Platform.runLater(() -> {
-                    updateButtonStates();
-                    favoriteButton.setDisable(false);
-                });
-            } catch (Exception e) {
-                Platform.runLater(() -> {
-                    showStatus("Error: " + e.getMessage());
-                    favoriteButton.setDisable(false);
-                });
-                e.printStackTrace();
+        boolean remove = isInFavorites;
+        long filmId = currentFilm.getId();
+        tasks.submitDetached(() -> {
+            if (remove) {
+                filmService.removeFromFavorites(user.getId(), filmId);
+            } else {
+                filmService.addToFavorites(user.getId(), filmId);
             }
-        }).start();
+            return !remove;
+        }, inFavorites -> {
+            isInFavorites = inFavorites;
+            showStatus(inFavorites ? "Added to Favorites!" : "Removed from Favorites");
+            updateButtonStates();
+            favoriteButton.setDisable(false);
+        }, error -> {
+            showStatus("Error: " + error.getMessage());
+            favoriteButton.setDisable(false);
+            error.printStackTrace();
+        });
     }
     
     private void showStatus(String message) {
-        Platform.runLater(() -> {
-            statusLabel.setText(message);
-            statusLabel.setVisible(true);
-            
-            // Hide after 3 seconds
-            new Thread(() -> {
-                try {
-                    Thread.sleep(3000);
-                    Platform.runLater(() -> statusLabel.setVisible(false));
-                } catch (InterruptedException e) {
-                    // ignore
-                }
-            }).start();
-        });
+        statusLabel.setText(message);
+        statusLabel.setVisible(true);
+        
+        // Hide after 3 seconds (restarting the delay if a newer status replaced this one)
+        if (hideStatusTask != null) {
+            hideStatusTask.cancel(false);
+        }
+        hideStatusTask = tasks.schedule(3, TimeUnit.SECONDS, () -> statusLabel.setVisible(false));
     }
     
     private void loadCast() {
         if (currentFilm == null) return;
         
-        new Thread(() -> {
-            try {
-                List<Acteur> cast = tmdbService.getMovieCast(currentFilm.getId(), 10);
-                
-                Platform.runLater(() -> {
-                    castContainer.getChildren().clear();
-                    
-                    for (Acteur acteur : cast) {
-                        VBox actorCard = createActorCard(acteur);
-                        castContainer.getChildren().add(actorCard);
-                    }
-                });
-            } catch (Exception e) {
-                e.printStackTrace();
+        long filmId = currentFilm.getId();
+        tasks.submit("cast:" + filmId, () -> tmdbService.getMovieCast(filmId, 10), cast -> {
+            castContainer.getChildren().clear();
+            
+            for (Acteur acteur : cast) {
+                VBox actorCard = createActorCard(acteur);
+                castContainer.getChildren().add(actorCard);
             }
-        }).start();
+        }, Throwable::printStackTrace);
     }
     
     private VBox createActorCard(Acteur acteur) {
@@ -287,12 +287,7 @@ public class MovieDetailsController {
         
         String profileUrl = acteur.getFullProfileUrl();
         if (profileUrl != null) {
-            try {
-                photoView.setImage(new Image(profileUrl, true));
-            } catch (Exception e) {
-                // Use placeholder style
-                photoView.setStyle("-fx-background-color: #252525;");
-            }
+            images.load(photoView, profileUrl, 105, 130);
         }
         
         // Actor Name
@@ -338,23 +333,17 @@ public class MovieDetailsController {
     private void loadDirector() {
         if (currentFilm == null) return;
         
-        new Thread(() -> {
-            try {
-                Acteur director = tmdbService.getMovieDirector(currentFilm.getId());
-                
-                if (director != null) {
-                    currentDirector = director;
-                    List<Film> directorFilms = tmdbService.getDirectorMovies(director.getId(), 10);
-                    
-                    Platform.runLater(() -> {
-                        displayDirector(director);
-                        displayDirectorFilms(directorFilms);
-                    });
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        }).start();
+        long filmId = currentFilm.getId();
+        tasks.submit("director:" + filmId, () -> {
+            Acteur director = tmdbService.getMovieDirector(filmId);
+            if (director == null) return null;
+            return new DirectorInfo(director, tmdbService.getDirectorMovies(director.getId(), 10));
+        }, info -> {
+            if (info == null) return;
+            currentDirector = info.director();
+            displayDirector(info.director());
+            displayDirectorFilms(info.films());
+        }, Throwable::printStackTrace);
     }
     
     private void displayDirector(Acteur director) {
@@ -364,15 +353,11 @@ public class MovieDetailsController {
         // Set director photo with rounded corners
         String profileUrl = director.getFullProfileUrl();
         if (profileUrl != null) {
-            try {
-                directorPhoto.setImage(new Image(profileUrl, true));
-                Rectangle clip = new Rectangle(40, 40);
-                clip.setArcWidth(20);
-                clip.setArcHeight(20);
-                directorPhoto.setClip(clip);
-            } catch (Exception e) {
-                directorPhoto.setVisible(false);
-            }
+            images.load(directorPhoto, profileUrl, 40, 40);
+            Rectangle clip = new Rectangle(40, 40);
+            clip.setArcWidth(20);
+            clip.setArcHeight(20);
+            directorPhoto.setClip(clip);
         } else {
             directorPhoto.setVisible(false);
         }
@@ -431,11 +416,7 @@ public class MovieDetailsController {
         
         String posterUrl = film.getFullPosterUrl();
         if (posterUrl != null) {
-            try {
-                posterView.setImage(new Image(posterUrl, true));
-            } catch (Exception e) {
-                // placeholder
-            }
+            images.load(posterView, posterUrl, 130, 195);
         }
         
         // Title
@@ -481,4 +462,7 @@ public class MovieDetailsController {
     private void handleBack() {
         SceneManager.getInstance().switchTo("dashboard");
     }
+    
+    // Director and their films, loaded together in the background
+    private record DirectorInfo(Acteur director, List<Film> films) {}
 }
@@ -1,25 +1,28 @@
 package controller;
 
+import config.AppContext;
 import config.SceneManager;
-import javafx.application.Platform;
+import config.ScreenLifecycle;
+import config.UiTaskScheduler;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 import model.Film;
+import model.GenreMask;
 import model.User;
 import service.FilmService;
+import service.ImageService;
 import service.SessionService;
 import service.UserService;
 import repository.GenreRepository;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
-public class OnboardingController {
+public class OnboardingController implements ScreenLifecycle {
     
     @FXML private FlowPane moviesContainer;
     @FXML private Label selectionCountLabel;
@@ -30,52 +33,53 @@ public class OnboardingController {
     private FilmService filmService;
     private UserService userService;
     private GenreRepository genreRepository;
+    private final UiTaskScheduler tasks = UiTaskScheduler.getInstance();
+    private final ImageService images = ImageService.getInstance();
     private Set<Long> selectedMovieIds = new HashSet<>();
     private int currentPage = 1;
+    // User the selection belongs to (the view is cached across logins)
+    private String shownUserId;
     
     public OnboardingController() {
-        this.filmService = new FilmService();
-        this.userService = new UserService();
-        this.genreRepository = new GenreRepository();
+        AppContext context = AppContext.getInstance();
+        this.filmService = context.get(FilmService.class);
+        this.userService = context.get(UserService.class);
+        this.genreRepository = context.get(GenreRepository.class);
     }
     
-    @FXML
-    public void initialize() {
-        loadMovies();
+    @Override
+    public void onShow() {
+        User user = SessionService.getInstance().getCurrentUser();
+        if (user == null) return;
+        
+        if (!user.getId().equals(shownUserId)) {
+            shownUserId = user.getId();
+            selectedMovieIds.clear();
+            moviesContainer.getChildren().clear();
+            currentPage = 1;
+            updateSelectionCount();
+            submitButton.setText("Continue →");
+            loadMovies();
+        } else if (moviesContainer.getChildren().isEmpty()) {
+            loadMovies();
+        }
     }
     
     private void loadMovies() {
         loadingLabel.setVisible(true);
         loadMoreButton.setDisable(true);
         
-        Thread loaderThread = new Thread(new Runnable() {
-            @Override
-            public void run() {
-                try {
-                    List<Film> films = filmService.getPopularFilms(currentPage);
-                    Platform.runLater(new Runnable() {
-                        @Override
-                        public void run() {
-                            displayMovies(films);
-                            loadingLabel.setVisible(false);
-                            loadMoreButton.setDisable(false);
-                        }
-                    });
-                } catch (Exception e) {
-                    Platform.runLater(new Runnable() {
-                        @Override
-                        public void run() {
-                            loadingLabel.setText("Erreur de chargement");
-                            loadingLabel.setVisible(true);
-                            loadMoreButton.setDisable(false);
-                        }
-                    });
-                    e.printStackTrace();
-                }
-            }
+        int page = currentPage;
+        tasks.submit("onboarding:" + page, () -> filmService.getPopularFilms(page), films -> {
+            displayMovies(films);
+            loadingLabel.setVisible(false);
+            loadMoreButton.setDisable(false);
+        }, error -> {
+            loadingLabel.setText("Erreur de chargement");
+            loadingLabel.setVisible(true);
+            loadMoreButton.setDisable(false);
+            error.printStackTrace();
         });
-        loaderThread.setDaemon(true);
-        loaderThread.start();
     }
     
     @FXML
@@ -105,11 +109,7 @@ public class OnboardingController {
         
         String posterUrl = film.getFullPosterUrl();
         if (posterUrl != null) {
-            try {
-                poster.setImage(new Image(posterUrl, true));
-            } catch (Exception e) {
-                // ignore
-            }
+            images.load(poster, posterUrl, 140, 210);
         }
         
         // title
@@ -182,63 +182,39 @@ public class OnboardingController {
         submitButton.setDisable(true);
         submitButton.setText("Enregistrement...");
         
-        Thread submitThread = new Thread(new Runnable() {
-            @Override
-            public void run() {
-                try {
-                    User user = SessionService.getInstance().getCurrentUser();
+        Set<Long> filmIds = new HashSet<>(selectedMovieIds);
+        // Detached: preferences must be saved even if the window changes screen meanwhile
+        tasks.submitDetached(() -> {
+            User user = SessionService.getInstance().getCurrentUser();
 
-                    // Save selected movies to favorites and extract genres
-                    Set<Integer> allGenreIds = new HashSet<>();
-                    for (Long filmId : selectedMovieIds) {
-                        // Add to favorites
-                        filmService.addToFavorites(user.getId(), filmId);
+            // Save selected movies to favorites and collect their genres
+            long allGenres = GenreMask.NONE;
+            for (Long filmId : filmIds) {
+                // Add to favorites
+                filmService.addToFavorites(user.getId(), filmId);
 
-                        // Get film and extract genres
-                        filmService.getFilmById(filmId).ifPresent(new java.util.function.Consumer<Film>() {
-                            @Override
-                            public void accept(Film film) {
-                                if (film.getGenres() != null) {
-                                    allGenreIds.addAll(
-                                            film.getGenres().stream()
-                                                    .map(g -> g.getId())
-                                                    .collect(Collectors.toList())
-                                    );
-                                }
-                            }
-                        });
-                    }
-
-                    // Save extracted genres to user preferences
-                    if (!allGenreIds.isEmpty()) {
-                        genreRepository.setUserFavoriteGenres(user.getId(), new java.util.ArrayList<>(allGenreIds));
-                    }
-
-                    // Mark onboarding as completed
-                    userService.completeOnboarding(user.getId());
-                    user.setOnboardingCompleted(true);
-                    SessionService.getInstance().setCurrentUser(user);
-
-                    Platform.runLater(new Runnable() {
-                        @Override
-                        public void run() {
-                            SceneManager.getInstance().switchTo("dashboard");
-                        }
-                    });
-                } catch (Exception e) {
-                    Platform.runLater(new Runnable() {
-                        @Override
-                        public void run() {
-                            submitButton.setDisable(false);
-                            submitButton.setText("Continuer");
-                        }
-                    });
-                    e.printStackTrace();
+                // Get film and add its genres
+                Optional<Film> film = filmService.getFilmById(filmId);
+                if (film.isPresent()) {
+                    allGenres |= film.get().getGenreMask();
                 }
             }
+
+            // Save extracted genres to user preferences
+            if (allGenres != GenreMask.NONE) {
+                genreRepository.setUserFavoriteGenres(user.getId(), GenreMask.toIds(allGenres));
+            }
+
+            // Mark onboarding as completed
+            userService.completeOnboarding(user.getId());
+            user.setOnboardingCompleted(true);
+            SessionService.getInstance().setCurrentUser(user);
+            return user;
+        }, user -> SceneManager.getInstance().switchTo("dashboard"), error -> {
+            submitButton.setDisable(false);
+            submitButton.setText("Continuer");
+            error.printStackTrace();
         });
-        submitThread.setDaemon(true);
-        submitThread.start();
     }
 }
 
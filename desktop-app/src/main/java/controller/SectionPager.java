@@ -0,0 +1,95 @@
+package controller;
+
+import config.UiTaskScheduler;
+import model.Film;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
+
+/**
+ * Pages of one dashboard section (popular movies, search results, recommendations).
+ * When a page is requested, the next one is fetched in the background as soon as it arrives,
+ * so "Show more" is usually answered from memory. Only the pages around the last requested
+ * one are kept. A pager belongs to one section and query: it is closed, and its prefetch
+ * cancelled, when the user switches to another.
+ * Loaders must be read-only: a prefetched page may never be shown, and dropped pages are cancelled
+ * mid-request. The caller saves a page once it is shown.
+ */
+public class SectionPager {
+    // Pages kept behind the last requested one (the page ahead is the prefetch)
+    private static final int PAGES_BEHIND = 1;
+
+    private final String name;
+    private final IntFunction<List<Film>> loader;
+    private final UiTaskScheduler tasks = UiTaskScheduler.getInstance();
+    private final Map<Integer, CompletableFuture<List<Film>>> pages = new HashMap<>();
+    // Screen scope of the last request: prefetches stop when the screen is left
+    private UiTaskScheduler.TaskScope scope;
+    private int lastRequested;
+    private boolean closed;
+
+    public SectionPager(String name, IntFunction<List<Film>> loader) {
+        this.name = name;
+        this.loader = loader;
+    }
+
+    /**
+     * Get a page, from memory when it was prefetched, and start fetching the following one
+     */
+    public synchronized CompletableFuture<List<Film>> page(int page) {
+        scope = tasks.currentScope();
+        lastRequested = page;
+        CompletableFuture<List<Film>> future = fetch(page);
+        slide(page);
+        future.thenAccept(films -> {
+            if (!films.isEmpty()) prefetch(page + 1);
+        });
+        return future;
+    }
+
+    private synchronized void prefetch(int page) {
+        // The user may have moved on (or left the screen) while the page was loading
+        if (closed || page != lastRequested + 1 || scope.isCancelled()) return;
+        fetch(page);
+    }
+
+    // Page already fetched or in progress, otherwise a new request; failed or cancelled ones are retried
+    private CompletableFuture<List<Film>> fetch(int page) {
+        CompletableFuture<List<Film>> existing = pages.get(page);
+        if (existing != null && !existing.isCompletedExceptionally()) {
+            return existing;
+        }
+        if (closed) {
+            return CompletableFuture.failedFuture(new CancellationException("Pager " + name + " is closed"));
+        }
+        CompletableFuture<List<Film>> future = scope.submit(name + ":" + page, () -> loader.apply(page), null,
+                error -> System.err.println("Loading " + name + " page " + page + " failed: " + error.getMessage()));
+        pages.put(page, future);
+        return future;
+    }
+
+    // Forget pages that fell out of the window, cancelling those still loading
+    private void slide(int current) {
+        pages.entrySet().removeIf(entry -> {
+            int page = entry.getKey();
+            boolean outside = page < current - PAGES_BEHIND || page > current + 1;
+            if (outside) entry.getValue().cancel(false);
+            return outside;
+        });
+    }
+
+    /**
+     * Stop prefetching and drop the pages; the section or the query changed
+     */
+    public synchronized void close() {
+        closed = true;
+        for (CompletableFuture<List<Film>> future : pages.values()) {
+            future.cancel(false);
+        }
+        pages.clear();
+    }
+}
@@ -1,9 +1,11 @@
 package model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
-public class Acteur {
+public class Acteur implements Serializable {
+    private static final long serialVersionUID = 1L;
     private long id;
     private String name;
     private String profilePath;
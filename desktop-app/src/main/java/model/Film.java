@@ -1,10 +1,12 @@
 package model;
 
+import java.io.Serializable;
 import java.util.List;
 import java.util.ArrayList;
 
 
-public class Film {
+public class Film implements Serializable {
+    private static final long serialVersionUID = 1L;
     private long id;
     private String title;
     private String overview;
@@ -49,6 +51,9 @@ public class Film {
     public List<Genre> getGenres() { return genres; }
     public void setGenres(List<Genre> genres) { this.genres = genres; }
 
+    // Genres as a bitmask (see GenreMask); computed from the list, which callers may modify
+    public long getGenreMask() { return GenreMask.of(genres); }
+
     public Acteur getDirector() { return director; }
     public void setDirector(Acteur director) { this.director = director; }
 
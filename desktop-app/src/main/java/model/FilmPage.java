@@ -0,0 +1,17 @@
+package model;
+
+import java.util.List;
+
+/**
+ * One page of a user's film list and the position to continue from (null on the last page).
+ * Pages are read by key (sort value, then film id) instead of SKIP, so each page costs the same.
+ */
+public record FilmPage(List<Film> films, Cursor next) {
+
+    // Sort value and id of the last film of a page
+    public record Cursor(String sortKey, long filmId) {}
+
+    public boolean hasMore() {
+        return next != null;
+    }
+}
@@ -1,6 +1,9 @@
 package model;
 
-public class Genre {
+import java.io.Serializable;
+
+public class Genre implements Serializable {
+    private static final long serialVersionUID = 1L;
     private int id;
     private String name;
 
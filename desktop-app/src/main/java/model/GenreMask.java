@@ -0,0 +1,127 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set of genres stored as the bits of a long.
+ * TMDB has 19 movie genres, each mapped to a fixed bit; other ids get a free bit on first use.
+ * Combining, filtering and comparing genre sets are then single bitwise operations
+ * (overlap = Long.bitCount(a & b)) instead of walking lists of Genre objects.
+ */
+public final class GenreMask {
+    public static final long NONE = 0L;
+
+    // TMDB movie genre ids, in bit order
+    private static final int[] TMDB_GENRES = {
+            28, 12, 16, 35, 80, 99, 18, 10751, 14, 36, 27, 10402, 9648, 10749, 878, 10770, 53, 10752, 37
+    };
+    // Direct id -> bit + 1 lookup for ids up to the largest TMDB id (0 = no bit yet)
+    private static final byte[] BIT_BY_ID = new byte[10771];
+    private static final int[] ID_BY_BIT = new int[Long.SIZE];
+    private static int assignedBits;
+
+    static {
+        for (int genreId : TMDB_GENRES) {
+            assign(genreId);
+        }
+    }
+
+    private GenreMask() {}
+
+    /**
+     * Bit of a genre, assigning one if needed; NONE once all 64 bits are used
+     */
+    public static long bit(int genreId) {
+        if (genreId >= 0 && genreId < BIT_BY_ID.length) {
+            int stored = BIT_BY_ID[genreId];
+            if (stored != 0) return 1L << (stored - 1);
+        }
+        return assign(genreId);
+    }
+
+    // Bit of a genre already known, without assigning one (for lookups)
+    public static long existingBit(int genreId) {
+        if (genreId >= 0 && genreId < BIT_BY_ID.length) {
+            int stored = BIT_BY_ID[genreId];
+            return stored != 0 ? 1L << (stored - 1) : NONE;
+        }
+        synchronized (GenreMask.class) {
+            for (int bit = 0; bit < assignedBits; bit++) {
+                if (ID_BY_BIT[bit] == genreId) return 1L << bit;
+            }
+        }
+        return NONE;
+    }
+
+    private static synchronized long assign(int genreId) {
+        for (int bit = 0; bit < assignedBits; bit++) {
+            if (ID_BY_BIT[bit] == genreId) return 1L << bit;
+        }
+        if (assignedBits == Long.SIZE) {
+            System.err.println("No genre bit left for genre " + genreId);
+            return NONE;
+        }
+        int bit = assignedBits++;
+        ID_BY_BIT[bit] = genreId;
+        if (genreId >= 0 && genreId < BIT_BY_ID.length) {
+            BIT_BY_ID[genreId] = (byte) (bit + 1);
+        }
+        return 1L << bit;
+    }
+
+    public static long of(Collection<Genre> genres) {
+        long mask = NONE;
+        if (genres == null) return mask;
+        for (Genre genre : genres) {
+            mask |= bit(genre.getId());
+        }
+        return mask;
+    }
+
+    public static long ofIds(Collection<Integer> genreIds) {
+        long mask = NONE;
+        for (int genreId : genreIds) {
+            mask |= bit(genreId);
+        }
+        return mask;
+    }
+
+    // Genre ids of a mask, in bit order
+    public static List<Integer> toIds(long mask) {
+        List<Integer> ids = new ArrayList<>(Long.bitCount(mask));
+        while (mask != NONE) {
+            int bit = Long.numberOfTrailingZeros(mask);
+            ids.add(genreIdOf(bit));
+            mask &= mask - 1;
+        }
+        return ids;
+    }
+
+    public static int genreIdOf(int bit) {
+        int genreId = ID_BY_BIT[bit];
+        if (genreId != 0) return genreId;
+        // Bit assigned by another thread after startup: read it under the lock
+        synchronized (GenreMask.class) {
+            return ID_BY_BIT[bit];
+        }
+    }
+
+    public static boolean contains(long mask, int genreId) {
+        return (mask & existingBit(genreId)) != NONE;
+    }
+
+    // Number of genres the two sets have in common
+    public static int overlap(long a, long b) {
+        return Long.bitCount(a & b);
+    }
+
+    public static boolean intersects(long a, long b) {
+        return (a & b) != NONE;
+    }
+
+    public static int size(long mask) {
+        return Long.bitCount(mask);
+    }
+}
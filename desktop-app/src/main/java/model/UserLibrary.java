@@ -0,0 +1,50 @@
+package model;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ids of the films a user has in each of their lists.
+ * Loaded once after login so list membership can be answered without a query;
+ * FilmService keeps it in sync with every write it makes.
+ */
+public class UserLibrary {
+    private final String userId;
+    private final Set<Long> watchlist = ConcurrentHashMap.newKeySet();
+    private final Set<Long> favorites = ConcurrentHashMap.newKeySet();
+    private final Set<Long> watched = ConcurrentHashMap.newKeySet();
+
+    public UserLibrary(String userId, Collection<Long> watchlist, Collection<Long> favorites, Collection<Long> watched) {
+        this.userId = userId;
+        this.watchlist.addAll(watchlist);
+        this.favorites.addAll(favorites);
+        this.watched.addAll(watched);
+    }
+
+    public String getUserId() { return userId; }
+
+    public boolean belongsTo(String userId) {
+        return this.userId.equals(userId);
+    }
+
+    public boolean isInWatchlist(long filmId) { return watchlist.contains(filmId); }
+    public boolean isInFavorites(long filmId) { return favorites.contains(filmId); }
+    public boolean isWatched(long filmId) { return watched.contains(filmId); }
+
+    public void setInWatchlist(long filmId, boolean inList) { update(watchlist, filmId, inList); }
+    public void setInFavorites(long filmId, boolean inList) { update(favorites, filmId, inList); }
+    public void setWatched(long filmId, boolean inList) { update(watched, filmId, inList); }
+
+    public int getWatchlistCount() { return watchlist.size(); }
+    public int getFavoritesCount() { return favorites.size(); }
+    public int getWatchedCount() { return watched.size(); }
+
+    private static void update(Set<Long> ids, long filmId, boolean present) {
+        if (present) {
+            ids.add(filmId);
+        } else {
+            ids.remove(filmId);
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package repository;
+
+import model.Film;
+import model.Genre;
+import model.GenreMask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * In-memory copy of every Film node (and the genre names), used by FilmRepository to answer
+ * popular, by-genre and by-title queries without a round-trip to Neo4j.
+ * Films are stored column by column: primitive arrays for the numbers, a bitmask of genres per
+ * film and a table of distinct title strings. Neo4j stays the system of record: the catalog is
+ * loaded once, updated by FilmRepository's writes, and not used until loaded.
+ */
+public class FilmCatalog {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static FilmCatalog instance;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    // One row per film
+    private int size;
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private double[] popularity = new double[INITIAL_CAPACITY];
+    private double[] voteAverage = new double[INITIAL_CAPACITY];
+    private int[] voteCount = new int[INITIAL_CAPACITY];
+    private long[] genreMasks = new long[INITIAL_CAPACITY];
+    private int[] titleRefs = new int[INITIAL_CAPACITY];
+    private String[] posterPaths = new String[INITIAL_CAPACITY];
+    private String[] releaseDates = new String[INITIAL_CAPACITY];
+    private String[] overviews = new String[INITIAL_CAPACITY];
+    private final Map<Long, Integer> rowById = new HashMap<>();
+
+    // Distinct titles, shared by films with the same title, and their lower-case form for CONTAINS.
+    // A title no film uses any more is released (null) and its slot reused
+    private final List<String> titles = new ArrayList<>();
+    private final List<String> lowerTitles = new ArrayList<>();
+    private final Map<String, Integer> titleRefByValue = new HashMap<>();
+    private int[] titleUses = new int[INITIAL_CAPACITY];
+    private final ArrayDeque<Integer> freeTitleRefs = new ArrayDeque<>();
+
+    private final Map<Integer, String> genreNames = new HashMap<>();
+
+    FilmCatalog() {}
+
+    public static synchronized FilmCatalog getInstance() {
+        if (instance == null) {
+            instance = new FilmCatalog();
+        }
+        return instance;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== LOADING ====================
+
+    /**
+     * Read every film and genre from Neo4j (two queries); does nothing if already loaded
+     */
+    public void load(QueryExecutor queries) {
+        if (loaded) return;
+        long start = System.nanoTime();
+        List<Genre> genres = queries.list("catalog.genres", "MATCH (g:Genre) RETURN g.id as id, g.name as name", null,
+                record -> new Genre(record.get("id").asInt(), record.get("name").asString(null)));
+        String query = """
+            MATCH (f:Film)
+            WHERE f.title IS NOT NULL
+            OPTIONAL MATCH (f)-[:HAS_GENRE]->(g:Genre)
+            RETURN f.id as id, f.title as title, f.overview as overview, f.posterPath as posterPath,
+                   f.releaseDate as releaseDate, f.voteAverage as voteAverage, f.voteCount as voteCount,
+                   f.popularity as popularity, collect(g.id) as genreIds
+            """;
+        List<Film> films = queries.list("catalog.films", query, null, record -> {
+            Film film = new Film();
+            film.setId(record.get("id").asLong());
+            film.setTitle(record.get("title").asString(null));
+            film.setOverview(record.get("overview").asString(null));
+            film.setPosterPath(record.get("posterPath").asString(null));
+            film.setReleaseDate(record.get("releaseDate").asString(null));
+            film.setVoteAverage(record.get("voteAverage").asDouble(0.0));
+            film.setVoteCount(record.get("voteCount").asInt(0));
+            film.setPopularity(record.get("popularity").asDouble(0.0));
+            for (Object genreId : record.get("genreIds").asList()) {
+                film.getGenres().add(new Genre(((Number) genreId).intValue(), null));
+            }
+            return film;
+        });
+        lock.writeLock().lock();
+        try {
+            for (Genre genre : genres) {
+                putGenre(genre);
+            }
+            for (Film film : films) {
+                // A film saved while the query ran is already here, and newer
+                if (!rowById.containsKey(film.getId())) upsertRow(film);
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("[Catalog] " + films.size() + " films loaded in " + (System.nanoTime() - start) / 1_000_000 + "ms");
+    }
+
+    // ==================== WRITES ====================
+
+    /**
+     * Apply a saved film; genres are added to the existing ones, as the MERGE in FilmRepository.save does
+     */
+    public void upsert(Film film) {
+        // Untitled nodes are not loaded either
+        if (film.getTitle() == null) return;
+        lock.writeLock().lock();
+        try {
+            for (Genre genre : film.getGenres()) {
+                putGenre(genre);
+            }
+            upsertRow(film);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long filmId) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowById.remove(filmId);
+            if (row == null) return;
+            releaseTitle(titleRefs[row]);
+            // Move the last row into the hole
+            int last = --size;
+            if (row != last) {
+                copyRow(last, row);
+                rowById.put(ids[row], row);
+            }
+            posterPaths[last] = null;
+            releaseDates[last] = null;
+            overviews[last] = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void upsertRow(Film film) {
+        Integer existing = rowById.get(film.getId());
+        int row;
+        if (existing != null) {
+            row = existing;
+        } else {
+            ensureCapacity(size + 1);
+            row = size++;
+            rowById.put(film.getId(), row);
+            genreMasks[row] = 0L;
+        }
+        ids[row] = film.getId();
+        popularity[row] = film.getPopularity();
+        voteAverage[row] = film.getVoteAverage();
+        voteCount[row] = film.getVoteCount();
+        // Take the new title before releasing the old one: an unchanged title keeps its slot
+        int titleRef = acquireTitle(film.getTitle() != null ? film.getTitle() : "");
+        if (existing != null) releaseTitle(titleRefs[row]);
+        titleRefs[row] = titleRef;
+        posterPaths[row] = film.getPosterPath();
+        releaseDates[row] = film.getReleaseDate();
+        overviews[row] = film.getOverview();
+        genreMasks[row] |= film.getGenreMask();
+    }
+
+    private void putGenre(Genre genre) {
+        // Same rule as the MERGE: a name is only set when the genre is new
+        if (genre.getName() != null && !genre.getName().isEmpty()) {
+            genreNames.putIfAbsent(genre.getId(), genre.getName());
+        }
+    }
+
+    private int acquireTitle(String title) {
+        Integer ref = titleRefByValue.get(title);
+        if (ref == null) {
+            ref = freeTitleRefs.poll();
+            if (ref != null) {
+                titles.set(ref, title);
+                lowerTitles.set(ref, title.toLowerCase());
+            } else {
+                ref = titles.size();
+                titles.add(title);
+                lowerTitles.add(title.toLowerCase());
+                if (ref == titleUses.length) titleUses = Arrays.copyOf(titleUses, ref * 2);
+            }
+            titleRefByValue.put(title, ref);
+        }
+        titleUses[ref]++;
+        return ref;
+    }
+
+    private void releaseTitle(int ref) {
+        if (--titleUses[ref] > 0) return;
+        titleRefByValue.remove(titles.get(ref));
+        titles.set(ref, null);
+        lowerTitles.set(ref, null);
+        freeTitleRefs.push(ref);
+    }
+
+    // Distinct titles still referenced by a film
+    int titleCount() {
+        lock.readLock().lock();
+        try {
+            return titleRefByValue.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void copyRow(int from, int to) {
+        ids[to] = ids[from];
+        popularity[to] = popularity[from];
+        voteAverage[to] = voteAverage[from];
+        voteCount[to] = voteCount[from];
+        genreMasks[to] = genreMasks[from];
+        titleRefs[to] = titleRefs[from];
+        posterPaths[to] = posterPaths[from];
+        releaseDates[to] = releaseDates[from];
+        overviews[to] = overviews[from];
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= ids.length) return;
+        int capacity = Math.max(needed, ids.length * 2);
+        ids = Arrays.copyOf(ids, capacity);
+        popularity = Arrays.copyOf(popularity, capacity);
+        voteAverage = Arrays.copyOf(voteAverage, capacity);
+        voteCount = Arrays.copyOf(voteCount, capacity);
+        genreMasks = Arrays.copyOf(genreMasks, capacity);
+        titleRefs = Arrays.copyOf(titleRefs, capacity);
+        posterPaths = Arrays.copyOf(posterPaths, capacity);
+        releaseDates = Arrays.copyOf(releaseDates, capacity);
+        overviews = Arrays.copyOf(overviews, capacity);
+    }
+
+    // ==================== QUERIES ====================
+
+    public Optional<Film> findById(long filmId) {
+        lock.readLock().lock();
+        try {
+            Integer row = rowById.get(filmId);
+            return row != null ? Optional.of(toFilm(row)) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Most popular films
+    public List<Film> popular(int limit) {
+        return top(limit, row -> true);
+    }
+
+    // Most popular films having a genre; only for genres with a bit (see FilmRepository.findByGenre)
+    public List<Film> byGenre(int genreId, int limit) {
+        long mask = GenreMask.existingBit(genreId);
+        if (mask == GenreMask.NONE) return new ArrayList<>();
+        return top(limit, row -> (genreMasks[row] & mask) != 0);
+    }
+
+    /**
+     * Films sharing the most genres with a film (then the most popular), or empty if the film is unknown
+     */
+    public Optional<List<Film>> similar(long filmId, Set<Long> excludedIds, int limit) {
+        lock.readLock().lock();
+        try {
+            Integer source = rowById.get(filmId);
+            if (source == null) return Optional.empty();
+            long mask = genreMasks[source];
+            if (mask == GenreMask.NONE || limit <= 0) return Optional.of(new ArrayList<>());
+
+            // Overlap (at most 64) in the high bits, popularity rank below: one long comparison per row
+            PriorityQueue<long[]> heap = new PriorityQueue<>(limit + 1, (a, b) -> Long.compare(a[0], b[0]));
+            for (int row = 0; row < size; row++) {
+                int common = GenreMask.overlap(mask, genreMasks[row]);
+                if (common == 0 || row == source || excludedIds.contains(ids[row])) continue;
+                long score = ((long) common << 56) | (Double.doubleToLongBits(Math.max(0.0, popularity[row])) >>> 8);
+                if (heap.size() < limit) {
+                    heap.add(new long[] {score, row});
+                } else if (score > heap.peek()[0]) {
+                    heap.poll();
+                    heap.add(new long[] {score, row});
+                }
+            }
+            Film[] films = new Film[heap.size()];
+            for (int i = films.length - 1; i >= 0; i--) {
+                films[i] = toFilm((int) heap.poll()[1]);
+            }
+            return Optional.of(new ArrayList<>(Arrays.asList(films)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Most popular films whose title contains the text, ignoring case
+    public List<Film> byTitle(String text, int limit) {
+        String needle = text.toLowerCase();
+        lock.readLock().lock();
+        try {
+            // Test each distinct title once
+            boolean[] matching = new boolean[lowerTitles.size()];
+            for (int ref = 0; ref < matching.length; ref++) {
+                String title = lowerTitles.get(ref);
+                matching[ref] = title != null && title.contains(needle);
+            }
+            return topLocked(limit, row -> matching[titleRefs[row]]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Film> top(int limit, IntPredicate filter) {
+        lock.readLock().lock();
+        try {
+            return topLocked(limit, filter);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Top rows by popularity, keeping only `limit` rows in a min-heap
+    private List<Film> topLocked(int limit, IntPredicate filter) {
+        if (limit <= 0) return new ArrayList<>();
+        PriorityQueue<Integer> heap = new PriorityQueue<>(limit + 1,
+                (a, b) -> Double.compare(popularity[a], popularity[b]));
+        for (int row = 0; row < size; row++) {
+            if (!filter.test(row)) continue;
+            if (heap.size() < limit) {
+                heap.add(row);
+            } else if (popularity[row] > popularity[heap.peek()]) {
+                heap.poll();
+                heap.add(row);
+            }
+        }
+        Film[] films = new Film[heap.size()];
+        for (int i = films.length - 1; i >= 0; i--) {
+            films[i] = toFilm(heap.poll());
+        }
+        return new ArrayList<>(Arrays.asList(films));
+    }
+
+    private Film toFilm(int row) {
+        Film film = new Film();
+        film.setId(ids[row]);
+        film.setTitle(titles.get(titleRefs[row]));
+        film.setOverview(overviews[row]);
+        film.setPosterPath(posterPaths[row]);
+        film.setReleaseDate(releaseDates[row]);
+        film.setVoteAverage(voteAverage[row]);
+        film.setVoteCount(voteCount[row]);
+        film.setPopularity(popularity[row]);
+        for (int genreId : GenreMask.toIds(genreMasks[row])) {
+            film.getGenres().add(new Genre(genreId, genreNames.get(genreId)));
+        }
+        return film;
+    }
+}
@@ -1,24 +1,57 @@
 package repository;
 
-import config.Neo4jConfig;
 import model.Film;
+import model.FilmPage;
 import model.Genre;
-import org.neo4j.driver.*;
+import model.GenreMask;
+import model.UserLibrary;
 import org.neo4j.driver.Record;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Values;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
 
 public class FilmRepository {
-    private final Driver driver;
+    // User lists that can be read page by page, with the key they are sorted on
+    public enum UserList {
+        WATCHLIST("WATCHLIST", "coalesce(f.title, '')", false),
+        FAVORITES("FAVORITED", "coalesce(f.title, '')", false),
+        WATCHED("WATCHED", "coalesce(f.title, '')", false),
+        RATED("RATED", "coalesce(r.ratedAt, '')", true);
+
+        private final String relationship;
+        private final String sortKey;
+        private final boolean descending;
+
+        UserList(String relationship, String sortKey, boolean descending) {
+            this.relationship = relationship;
+            this.sortKey = sortKey;
+            this.descending = descending;
+        }
+    }
+
+    private record PageRow(Film film, String sortKey) {}
+
+    private final QueryExecutor queries;
+    // Local copy of the films for read queries, once loaded (see loadCatalog)
+    private final FilmCatalog catalog;
     public FilmRepository() {
-        this.driver = Neo4jConfig.getDriver();
+        this.queries = QueryExecutor.getInstance();
+        this.catalog = FilmCatalog.getInstance();
+    }
+
+    // Load all films into memory so popular/genre/title queries stop going to Neo4j
+    public void loadCatalog() {
+        catalog.load(queries);
     }
     //save and update film in neo4j
     public Film save(Film film) {
-        try (Session session = driver.session()) {
+        try (Session session = queries.getDriver().session()) {
             String query = """
                 MERGE (f:Film {id: $id})
                 SET f.title = $title,
@@ -30,7 +63,7 @@ public class FilmRepository {
                     f.popularity = $popularity
                 RETURN f
                 """;
-            session.run(query, Values.parameters(
+            queries.execute(session, "film.save", query, Values.parameters(
                     "id", film.getId(),
                     "title", film.getTitle(),
                     "overview", film.getOverview(),
@@ -49,12 +82,13 @@ public class FilmRepository {
                     MATCH (f:Film {id: $filmId})
                     MERGE (f)-[:HAS_GENRE]->(g)
                     """;
-                session.run(genreQuery, Values.parameters(
+                queries.execute(session, "film.save.genre", genreQuery, Values.parameters(
                         "genreId", genre.getId(),
                         "genreName", genre.getName() != null ? genre.getName() : "",
                         "filmId", film.getId()
                 ));
             }
+            catalog.upsert(film);
 
             return film;
         }
@@ -62,294 +96,306 @@ public class FilmRepository {
 
     //find film by id
     public Optional<Film> findById(long id) {
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (f:Film {id: $id})
-                OPTIONAL MATCH (f)-[:HAS_GENRE]->(g:Genre)
-                RETURN f, collect(g) as genres
-                """;
-            Result result = session.run(query, Values.parameters("id", id));
-            if (result.hasNext()) {
-                return Optional.of(mapRecordToFilm(result.next()));
-            }
-            return Optional.empty();
+        if (catalog.isLoaded()) {
+            Optional<Film> local = catalog.findById(id);
+            if (local.isPresent()) return local;
         }
+        String query = """
+            MATCH (f:Film {id: $id})
+            OPTIONAL MATCH (f)-[:HAS_GENRE]->(g:Genre)
+            RETURN f, collect(g) as genres
+            """;
+        return queries.first("film.findById", query, Values.parameters("id", id), this::mapRecordToFilm);
     }
 
     // Search films by title
     public List<Film> findByTitle(String title) {
-        List<Film> films = new ArrayList<>();
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (f:Film)
-                WHERE toLower(f.title) CONTAINS toLower($title)
-                OPTIONAL MATCH (f)-[:HAS_GENRE]->(g:Genre)
-                RETURN f, collect(g) as genres
-                ORDER BY f.popularity DESC
-                LIMIT 20
-                """;
-            Result result = session.run(query, Values.parameters("title", title));
-            while (result.hasNext()) {
-                films.add(mapRecordToFilm(result.next()));
-            }
+        if (catalog.isLoaded()) {
+            return catalog.byTitle(title, 20);
         }
-        return films;
+        String query = """
+            MATCH (f:Film)
+            WHERE toLower(f.title) CONTAINS toLower($title)
+            OPTIONAL MATCH (f)-[:HAS_GENRE]->(g:Genre)
+            RETURN f, collect(g) as genres
+            ORDER BY f.popularity DESC
+            LIMIT 20
+            """;
+        return queries.list("film.findByTitle", query, Values.parameters("title", title), this::mapRecordToFilm);
     }
     //add film to watchlist
     public void addToUserWatchlist(String userId, long filmId) {
-        try (Session session = driver.session()) {
-            String query = """
-                MERGE (u:User {id: $userId})
-                MERGE (f:Film {id: $filmId})
-                MERGE (u)-[r:WATCHLIST]->(f)
-                ON CREATE SET r.addedAt = $addedAt
-                """;
-            session.run(query, Values.parameters(
-                    "userId", userId,
-                    "filmId", filmId,
-                    "addedAt", LocalDateTime.now().toString()
-            ));
-        }
+        String query = """
+            MERGE (u:User {id: $userId})
+            MERGE (f:Film {id: $filmId})
+            MERGE (u)-[r:WATCHLIST]->(f)
+            ON CREATE SET r.addedAt = $addedAt
+            """;
+        queries.execute("film.addToWatchlist", query, Values.parameters(
+                "userId", userId,
+                "filmId", filmId,
+                "addedAt", LocalDateTime.now().toString()
+        ));
     }
 
     //remove film from watchlist
     public void removeFromUserWatchlist(String userId, long filmId) {
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (u:User {id: $userId})-[r:WATCHLIST]->(f:Film {id: $filmId})
-                DELETE r
-                """;
-            session.run(query, Values.parameters("userId", userId, "filmId", filmId));
-        }
+        String query = """
+            MATCH (u:User {id: $userId})-[r:WATCHLIST]->(f:Film {id: $filmId})
+            DELETE r
+            """;
+        queries.execute("film.removeFromWatchlist", query, Values.parameters("userId", userId, "filmId", filmId));
     }
 
     // Get user's watchlist
     public List<Film> getUserWatchlist(String userId) {
-        List<Film> films = new ArrayList<>();
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (u:User {id: $userId})-[:WATCHLIST]->(f:Film)
-                OPTIONAL MATCH (f)-[:HAS_GENRE]->(g:Genre)
-                RETURN f, collect(g) as genres
-                ORDER BY f.title
-                """;
-            Result result = session.run(query, Values.parameters("userId", userId));
-            while (result.hasNext()) {
-                films.add(mapRecordToFilm(result.next()));
-            }
-        }
-        return films;
+        String query = """
+            MATCH (u:User {id: $userId})-[:WATCHLIST]->(f:Film)
+            OPTIONAL MATCH (f)-[:HAS_GENRE]->(g:Genre)
+            RETURN f, collect(g) as genres
+            ORDER BY f.title
+            """;
+        return queries.list("film.userWatchlist", query, Values.parameters("userId", userId), this::mapRecordToFilm);
     }
 
     // Add film to user's favorites
     public void addToUserFavorites(String userId, long filmId) {
-        try (Session session = driver.session()) {
-            String query = """
-                MERGE (u:User {id: $userId})
-                MERGE (f:Film {id: $filmId})
-                MERGE (u)-[r:FAVORITED]->(f)
-                ON CREATE SET r.addedAt = $addedAt
-                """;
-            session.run(query, Values.parameters(
-                    "userId", userId,
-                    "filmId", filmId,
-                    "addedAt", LocalDateTime.now().toString()
-            ));
-        }
+        String query = """
+            MERGE (u:User {id: $userId})
+            MERGE (f:Film {id: $filmId})
+            MERGE (u)-[r:FAVORITED]->(f)
+            ON CREATE SET r.addedAt = $addedAt
+            """;
+        queries.execute("film.addToFavorites", query, Values.parameters(
+                "userId", userId,
+                "filmId", filmId,
+                "addedAt", LocalDateTime.now().toString()
+        ));
     }
 
     // Remove film from user's favorites
     public void removeFromUserFavorites(String userId, long filmId) {
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (u:User {id: $userId})-[r:FAVORITED]->(f:Film {id: $filmId})
-                DELETE r
-                """;
-            session.run(query, Values.parameters("userId", userId, "filmId", filmId));
-        }
+        String query = """
+            MATCH (u:User {id: $userId})-[r:FAVORITED]->(f:Film {id: $filmId})
+            DELETE r
+            """;
+        queries.execute("film.removeFromFavorites", query, Values.parameters("userId", userId, "filmId", filmId));
     }
 
     // Get user's favorite films
     public List<Film> getUserFavorites(String userId) {
-        List<Film> films = new ArrayList<>();
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (u:User {id: $userId})-[:FAVORITED]->(f:Film)
-                OPTIONAL MATCH (f)-[:HAS_GENRE]->(g:Genre)
-                RETURN f, collect(g) as genres
-                ORDER BY f.title
-                """;
-            Result result = session.run(query, Values.parameters("userId", userId));
-            while (result.hasNext()) {
-                films.add(mapRecordToFilm(result.next()));
-            }
-        }
-        return films;
+        String query = """
+            MATCH (u:User {id: $userId})-[:FAVORITED]->(f:Film)
+            OPTIONAL MATCH (f)-[:HAS_GENRE]->(g:Genre)
+            RETURN f, collect(g) as genres
+            ORDER BY f.title
+            """;
+        return queries.list("film.userFavorites", query, Values.parameters("userId", userId), this::mapRecordToFilm);
     }
 
     // Rate a film
     public void rateFilm(String userId, long filmId, int score) {
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (u:User {id: $userId}), (f:Film {id: $filmId})
-                MERGE (u)-[r:RATED]->(f)
-                SET r.score = $score, r.ratedAt = $ratedAt
-                """;
-            session.run(query, Values.parameters(
-                    "userId", userId,
-                    "filmId", filmId,
-                    "score", score,
-                    "ratedAt", LocalDateTime.now().toString()
-            ));
-        }
+        String query = """
+            MATCH (u:User {id: $userId}), (f:Film {id: $filmId})
+            MERGE (u)-[r:RATED]->(f)
+            SET r.score = $score, r.ratedAt = $ratedAt
+            """;
+        queries.execute("film.rate", query, Values.parameters(
+                "userId", userId,
+                "filmId", filmId,
+                "score", score,
+                "ratedAt", LocalDateTime.now().toString()
+        ));
     }
 
     // Remove user's rating
     public void removeRating(String userId, long filmId) {
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (u:User {id: $userId})-[r:RATED]->(f:Film {id: $filmId})
-                DELETE r
-                """;
-            session.run(query, Values.parameters("userId", userId, "filmId", filmId));
-        }
+        String query = """
+            MATCH (u:User {id: $userId})-[r:RATED]->(f:Film {id: $filmId})
+            DELETE r
+            """;
+        queries.execute("film.removeRating", query, Values.parameters("userId", userId, "filmId", filmId));
     }
 
     // Get all films rated by user
     public List<Film> getUserRatedFilms(String userId) {
-        List<Film> films = new ArrayList<>();
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (u:User {id: $userId})-[r:RATED]->(f:Film)
-                OPTIONAL MATCH (f)-[:HAS_GENRE]->(g:Genre)
-                RETURN f, collect(g) as genres, r.score as userScore
-                ORDER BY r.ratedAt DESC
-                """;
-            Result result = session.run(query, Values.parameters("userId", userId));
-            while (result.hasNext()) {
-                films.add(mapRecordToFilm(result.next()));
-            }
-        }
-        return films;
+        String query = """
+            MATCH (u:User {id: $userId})-[r:RATED]->(f:Film)
+            OPTIONAL MATCH (f)-[:HAS_GENRE]->(g:Genre)
+            RETURN f, collect(g) as genres, r.score as userScore
+            ORDER BY r.ratedAt DESC
+            """;
+        return queries.list("film.userRated", query, Values.parameters("userId", userId), this::mapRecordToFilm);
     }
 
     // Get user's rating for a film
     public Optional<Integer> getUserRating(String userId, long filmId) {
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (u:User {id: $userId})-[r:RATED]->(f:Film {id: $filmId})
-                RETURN r.score as score
-                """;
-            Result result = session.run(query, Values.parameters("userId", userId, "filmId", filmId));
-            if (result.hasNext()) {
-                return Optional.of(result.next().get("score").asInt());
-            }
-            return Optional.empty();
-        }
+        String query = """
+            MATCH (u:User {id: $userId})-[r:RATED]->(f:Film {id: $filmId})
+            RETURN r.score as score
+            """;
+        return queries.first("film.userRating", query, Values.parameters("userId", userId, "filmId", filmId),
+                record -> record.get("score").asInt());
     }
 
     // Mark film as watched
     public void markAsWatched(String userId, long filmId) {
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (u:User {id: $userId}), (f:Film {id: $filmId})
-                MERGE (u)-[r:WATCHED]->(f)
-                ON CREATE SET r.watchedAt = $watchedAt
-                """;
-            session.run(query, Values.parameters(
-                    "userId", userId,
-                    "filmId", filmId,
-                    "watchedAt", LocalDateTime.now().toString()
-            ));
-        }
+        String query = """
+            MATCH (u:User {id: $userId}), (f:Film {id: $filmId})
+            MERGE (u)-[r:WATCHED]->(f)
+            ON CREATE SET r.watchedAt = $watchedAt
+            """;
+        queries.execute("film.markAsWatched", query, Values.parameters(
+                "userId", userId,
+                "filmId", filmId,
+                "watchedAt", LocalDateTime.now().toString()
+        ));
     }
 
     // Get user's watched films
     public List<Film> getUserWatchedFilms(String userId) {
-        List<Film> films = new ArrayList<>();
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (u:User {id: $userId})-[:WATCHED]->(f:Film)
-                OPTIONAL MATCH (f)-[:HAS_GENRE]->(g:Genre)
-                RETURN f, collect(g) as genres
-                ORDER BY f.title
-                """;
-            Result result = session.run(query, Values.parameters("userId", userId));
-            while (result.hasNext()) {
-                films.add(mapRecordToFilm(result.next()));
-            }
+        String query = """
+            MATCH (u:User {id: $userId})-[:WATCHED]->(f:Film)
+            OPTIONAL MATCH (f)-[:HAS_GENRE]->(g:Genre)
+            RETURN f, collect(g) as genres
+            ORDER BY f.title
+            """;
+        return queries.list("film.userWatched", query, Values.parameters("userId", userId), this::mapRecordToFilm);
+    }
+
+    // ==================== PAGED USER LISTS ====================
+
+    /**
+     * One page of a user list, starting after the cursor (null for the first page)
+     */
+    public FilmPage getUserListPage(String userId, UserList list, FilmPage.Cursor after, int size) {
+        // Genres through a pattern comprehension: no aggregation, so the row order is kept
+        String query = """
+            MATCH (u:User {id: $userId})-[r:%s]->(f:Film)
+            WITH f, %s as sortKey
+            WHERE $afterKey IS NULL OR sortKey %s $afterKey OR (sortKey = $afterKey AND f.id > $afterId)
+            RETURN f, [(f)-[:HAS_GENRE]->(g:Genre) | g] as genres, sortKey
+            ORDER BY sortKey %s, f.id
+            LIMIT $limit
+            """.formatted(list.relationship, list.sortKey, list.descending ? "<" : ">", list.descending ? "DESC" : "ASC");
+
+        // One extra row tells whether another page follows
+        List<PageRow> rows = queries.list("film.userListPage." + list.name().toLowerCase(), query, Values.parameters(
+                "userId", userId,
+                "afterKey", after != null ? after.sortKey() : null,
+                "afterId", after != null ? after.filmId() : 0L,
+                "limit", size + 1
+        ), record -> new PageRow(mapRecordToFilm(record), record.get("sortKey").asString()));
+
+        List<Film> films = new ArrayList<>(Math.min(rows.size(), size));
+        for (int i = 0; i < rows.size() && i < size; i++) {
+            films.add(rows.get(i).film());
+        }
+        FilmPage.Cursor next = null;
+        if (rows.size() > size) {
+            PageRow last = rows.get(size - 1);
+            next = new FilmPage.Cursor(last.sortKey(), last.film().getId());
         }
-        return films;
+        return new FilmPage(films, next);
+    }
+
+    /**
+     * Read a whole user list page by page, handing each page over as soon as it arrives.
+     * Stops early when onPage returns false.
+     */
+    public void streamUserList(String userId, UserList list, int pageSize, Predicate<List<Film>> onPage) {
+        FilmPage.Cursor cursor = null;
+        do {
+            FilmPage page = getUserListPage(userId, list, cursor, pageSize);
+            if (!onPage.test(page.films())) return;
+            cursor = page.next();
+        } while (cursor != null);
     }
 
     // Check if film is in user's watchlist
     public boolean isInWatchlist(String userId, long filmId) {
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (u:User {id: $userId})-[:WATCHLIST]->(f:Film {id: $filmId})
-                RETURN count(*) > 0 as exists
-                """;
-            Result result = session.run(query, Values.parameters("userId", userId, "filmId", filmId));
-            return result.single().get("exists").asBoolean();
-        }
+        String query = """
+            MATCH (u:User {id: $userId})-[:WATCHLIST]->(f:Film {id: $filmId})
+            RETURN count(*) > 0 as exists
+            """;
+        return queries.single("film.isInWatchlist", query, Values.parameters("userId", userId, "filmId", filmId),
+                record -> record.get("exists").asBoolean());
     }
 
     // Check if film is in user's favorites
     public boolean isInFavorites(String userId, long filmId) {
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (u:User {id: $userId})-[:FAVORITED]->(f:Film {id: $filmId})
-                RETURN count(*) > 0 as exists
-                """;
-            Result result = session.run(query, Values.parameters("userId", userId, "filmId", filmId));
-            return result.single().get("exists").asBoolean();
-        }
+        String query = """
+            MATCH (u:User {id: $userId})-[:FAVORITED]->(f:Film {id: $filmId})
+            RETURN count(*) > 0 as exists
+            """;
+        return queries.single("film.isInFavorites", query, Values.parameters("userId", userId, "filmId", filmId),
+                record -> record.get("exists").asBoolean());
+    }
+
+    // Ids of every film in the user's watchlist, favorites and watched list, in one round trip
+    public UserLibrary getUserLibrary(String userId) {
+        String query = """
+            MATCH (u:User {id: $userId})
+            OPTIONAL MATCH (u)-[:WATCHLIST]->(w:Film)
+            WITH u, collect(w.id) as watchlist
+            OPTIONAL MATCH (u)-[:FAVORITED]->(f:Film)
+            WITH u, watchlist, collect(f.id) as favorites
+            OPTIONAL MATCH (u)-[:WATCHED]->(x:Film)
+            RETURN watchlist, favorites, collect(x.id) as watched
+            """;
+        return queries.first("film.userLibrary", query, Values.parameters("userId", userId), record -> new UserLibrary(
+                userId,
+                record.get("watchlist").asList(value -> value.asLong()),
+                record.get("favorites").asList(value -> value.asLong()),
+                record.get("watched").asList(value -> value.asLong())
+        )).orElseGet(() -> new UserLibrary(userId, List.of(), List.of(), List.of()));
     }
 
     // Get films by genre
     public List<Film> findByGenre(int genreId, int limit) {
-        List<Film> films = new ArrayList<>();
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (f:Film)-[:HAS_GENRE]->(g:Genre {id: $genreId})
-                OPTIONAL MATCH (f)-[:HAS_GENRE]->(allGenres:Genre)
-                RETURN f, collect(DISTINCT allGenres) as genres
-                ORDER BY f.popularity DESC
-                LIMIT $limit
-                """;
-            Result result = session.run(query, Values.parameters("genreId", genreId, "limit", limit));
-            while (result.hasNext()) {
-                films.add(mapRecordToFilm(result.next()));
-            }
+        // A genre without a bit (more genres than bits) is not in the catalog's masks: ask Neo4j
+        if (catalog.isLoaded() && GenreMask.existingBit(genreId) != GenreMask.NONE) {
+            return catalog.byGenre(genreId, limit);
+        }
+        String query = """
+            MATCH (f:Film)-[:HAS_GENRE]->(g:Genre {id: $genreId})
+            OPTIONAL MATCH (f)-[:HAS_GENRE]->(allGenres:Genre)
+            RETURN f, collect(DISTINCT allGenres) as genres
+            ORDER BY f.popularity DESC
+            LIMIT $limit
+            """;
+        return queries.list("film.findByGenre", query, Values.parameters("genreId", genreId, "limit", limit),
+                this::mapRecordToFilm);
+    }
+
+    // Films sharing the most genres with a film, from memory; empty when the catalog cannot answer
+    public Optional<List<Film>> findSimilarLocally(long filmId, Set<Long> excludedIds, int limit) {
+        if (!catalog.isLoaded()) {
+            return Optional.empty();
         }
-        return films;
+        return catalog.similar(filmId, excludedIds, limit);
     }
 
     // Get popular films from database
     public List<Film> getPopularFilms(int limit) {
-        List<Film> films = new ArrayList<>();
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (f:Film)
-                OPTIONAL MATCH (f)-[:HAS_GENRE]->(g:Genre)
-                RETURN f, collect(g) as genres
-                ORDER BY f.popularity DESC
-                LIMIT $limit
-                """;
-            Result result = session.run(query, Values.parameters("limit", limit));
-            while (result.hasNext()) {
-                films.add(mapRecordToFilm(result.next()));
-            }
+        if (catalog.isLoaded()) {
+            return catalog.popular(limit);
         }
-        return films;
+        String query = """
+            MATCH (f:Film)
+            OPTIONAL MATCH (f)-[:HAS_GENRE]->(g:Genre)
+            RETURN f, collect(g) as genres
+            ORDER BY f.popularity DESC
+            LIMIT $limit
+            """;
+        return queries.list("film.popular", query, Values.parameters("limit", limit), this::mapRecordToFilm);
     }
 
     // Delete a film
     public void delete(long filmId) {
-        try (Session session = driver.session()) {
-            String query = "MATCH (f:Film {id: $id}) DETACH DELETE f";
-            session.run(query, Values.parameters("id", filmId));
-        }
+        String query = "MATCH (f:Film {id: $id}) DETACH DELETE f";
+        queries.execute("film.delete", query, Values.parameters("id", filmId));
+        catalog.remove(filmId);
     }
 
 
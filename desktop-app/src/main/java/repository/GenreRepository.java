@@ -1,46 +1,43 @@
 package repository;
 
-import config.Neo4jConfig;
 import model.Genre;
-import org.neo4j.driver.*;
 import org.neo4j.driver.Record;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Values;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 public class GenreRepository {
-    private final Driver driver;
+    private final QueryExecutor queries;
 
     public GenreRepository() {
-        this.driver = Neo4jConfig.getDriver();
+        this.queries = QueryExecutor.getInstance();
     }
 
     // Save or update a genre in Neo4j
     public Genre save(Genre genre) {
-        try (Session session = driver.session()) {
-            String query = """
-                MERGE (g:Genre {id: $id})
-                SET g.name = $name
-                RETURN g
-                """;
-            session.run(query, Values.parameters(
-                    "id", genre.getId(),
-                    "name", genre.getName()
-            ));
-            return genre;
-        }
+        String query = """
+            MERGE (g:Genre {id: $id})
+            SET g.name = $name
+            RETURN g
+            """;
+        queries.execute("genre.save", query, Values.parameters(
+                "id", genre.getId(),
+                "name", genre.getName()
+        ));
+        return genre;
     }
 
     // Save multiple genres at once
     public void saveAll(List<Genre> genres) {
-        try (Session session = driver.session()) {
+        try (Session session = queries.getDriver().session()) {
             for (Genre genre : genres) {
                 String query = """
                     MERGE (g:Genre {id: $id})
                     SET g.name = $name
                     """;
-                session.run(query, Values.parameters(
+                queries.execute(session, "genre.saveAll", query, Values.parameters(
                         "id", genre.getId(),
                         "name", genre.getName()
                 ));
@@ -50,50 +47,31 @@ public class GenreRepository {
 
     // Find genre by ID
     public Optional<Genre> findById(int id) {
-        try (Session session = driver.session()) {
-            String query = "MATCH (g:Genre {id: $id}) RETURN g";
-            Result result = session.run(query, Values.parameters("id", id));
-            if (result.hasNext()) {
-                return Optional.of(mapRecordToGenre(result.next()));
-            }
-            return Optional.empty();
-        }
+        String query = "MATCH (g:Genre {id: $id}) RETURN g";
+        return queries.first("genre.findById", query, Values.parameters("id", id), this::mapRecordToGenre);
     }
 
     // Find genre by name
     public Optional<Genre> findByName(String name) {
-        try (Session session = driver.session()) {
-            String query = "MATCH (g:Genre) WHERE toLower(g.name) = toLower($name) RETURN g";
-            Result result = session.run(query, Values.parameters("name", name));
-            if (result.hasNext()) {
-                return Optional.of(mapRecordToGenre(result.next()));
-            }
-            return Optional.empty();
-        }
+        String query = "MATCH (g:Genre) WHERE toLower(g.name) = toLower($name) RETURN g";
+        return queries.first("genre.findByName", query, Values.parameters("name", name), this::mapRecordToGenre);
     }
 
     // Get all genres
     public List<Genre> findAll() {
-        List<Genre> genres = new ArrayList<>();
-        try (Session session = driver.session()) {
-            String query = "MATCH (g:Genre) RETURN g ORDER BY g.name";
-            Result result = session.run(query);
-            while (result.hasNext()) {
-                genres.add(mapRecordToGenre(result.next()));
-            }
-        }
-        return genres;
+        String query = "MATCH (g:Genre) RETURN g ORDER BY g.name";
+        return queries.list("genre.findAll", query, null, this::mapRecordToGenre);
     }
 
     // Set user's favorite genres (replaces existing preferences)
     public void setUserFavoriteGenres(String userId, List<Integer> genreIds) {
-        try (Session session = driver.session()) {
+        try (Session session = queries.getDriver().session()) {
             // First, remove existing preferences
             String removeQuery = """
                 MATCH (u:User {id: $userId})-[r:PREFERS]->(g:Genre)
                 DELETE r
                 """;
-            session.run(removeQuery, Values.parameters("userId", userId));
+            queries.execute(session, "genre.clearUserFavorites", removeQuery, Values.parameters("userId", userId));
 
             // Then, add new preferences
             for (Integer genreId : genreIds) {
@@ -101,7 +79,7 @@ public class GenreRepository {
                     MATCH (u:User {id: $userId}), (g:Genre {id: $genreId})
                     MERGE (u)-[:PREFERS]->(g)
                     """;
-                session.run(addQuery, Values.parameters(
+                queries.execute(session, "genre.addUserFavorite", addQuery, Values.parameters(
                         "userId", userId,
                         "genreId", genreId
                 ));
@@ -111,115 +89,82 @@ public class GenreRepository {
 
     // Add a single genre to user's favorites
     public void addUserFavoriteGenre(String userId, int genreId) {
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (u:User {id: $userId}), (g:Genre {id: $genreId})
-                MERGE (u)-[:PREFERS]->(g)
-                """;
-            session.run(query, Values.parameters(
-                    "userId", userId,
-                    "genreId", genreId
-            ));
-        }
+        String query = """
+            MATCH (u:User {id: $userId}), (g:Genre {id: $genreId})
+            MERGE (u)-[:PREFERS]->(g)
+            """;
+        queries.execute("genre.addUserFavorite", query, Values.parameters(
+                "userId", userId,
+                "genreId", genreId
+        ));
     }
 
     // Remove a genre from user's favorites
     public void removeUserFavoriteGenre(String userId, int genreId) {
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (u:User {id: $userId})-[r:PREFERS]->(g:Genre {id: $genreId})
-                DELETE r
-                """;
-            session.run(query, Values.parameters(
-                    "userId", userId,
-                    "genreId", genreId
-            ));
-        }
+        String query = """
+            MATCH (u:User {id: $userId})-[r:PREFERS]->(g:Genre {id: $genreId})
+            DELETE r
+            """;
+        queries.execute("genre.removeUserFavorite", query, Values.parameters(
+                "userId", userId,
+                "genreId", genreId
+        ));
     }
 
     // Get user's favorite genres
     public List<Genre> getUserFavoriteGenres(String userId) {
-        List<Genre> genres = new ArrayList<>();
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (u:User {id: $userId})-[:PREFERS]->(g:Genre)
-                RETURN g
-                ORDER BY g.name
-                """;
-            Result result = session.run(query, Values.parameters("userId", userId));
-            while (result.hasNext()) {
-                genres.add(mapRecordToGenre(result.next()));
-            }
-        }
-        return genres;
+        String query = """
+            MATCH (u:User {id: $userId})-[:PREFERS]->(g:Genre)
+            RETURN g
+            ORDER BY g.name
+            """;
+        return queries.list("genre.userFavorites", query, Values.parameters("userId", userId), this::mapRecordToGenre);
     }
 
     // Check if genre is in user's favorites
     public boolean isUserFavoriteGenre(String userId, int genreId) {
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (u:User {id: $userId})-[:PREFERS]->(g:Genre {id: $genreId})
-                RETURN count(*) > 0 as exists
-                """;
-            Result result = session.run(query, Values.parameters(
-                    "userId", userId,
-                    "genreId", genreId
-            ));
-            return result.single().get("exists").asBoolean();
-        }
+        String query = """
+            MATCH (u:User {id: $userId})-[:PREFERS]->(g:Genre {id: $genreId})
+            RETURN count(*) > 0 as exists
+            """;
+        return queries.single("genre.isUserFavorite", query, Values.parameters(
+                "userId", userId,
+                "genreId", genreId
+        ), record -> record.get("exists").asBoolean());
     }
 
     // Get popular genres (based on how many users prefer them)
     public List<Genre> getPopularGenres(int limit) {
-        List<Genre> genres = new ArrayList<>();
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (g:Genre)
-                OPTIONAL MATCH (u:User)-[:PREFERS]->(g)
-                RETURN g, count(u) as preferCount
-                ORDER BY preferCount DESC
-                LIMIT $limit
-                """;
-            Result result = session.run(query, Values.parameters("limit", limit));
-            while (result.hasNext()) {
-                genres.add(mapRecordToGenre(result.next()));
-            }
-        }
-        return genres;
+        String query = """
+            MATCH (g:Genre)
+            OPTIONAL MATCH (u:User)-[:PREFERS]->(g)
+            RETURN g, count(u) as preferCount
+            ORDER BY preferCount DESC
+            LIMIT $limit
+            """;
+        return queries.list("genre.popular", query, Values.parameters("limit", limit), this::mapRecordToGenre);
     }
 
     // Get genres for a specific film
     public List<Genre> getGenresForFilm(long filmId) {
-        List<Genre> genres = new ArrayList<>();
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (f:Film {id: $filmId})-[:HAS_GENRE]->(g:Genre)
-                RETURN g
-                ORDER BY g.name
-                """;
-            Result result = session.run(query, Values.parameters("filmId", filmId));
-            while (result.hasNext()) {
-                genres.add(mapRecordToGenre(result.next()));
-            }
-        }
-        return genres;
+        String query = """
+            MATCH (f:Film {id: $filmId})-[:HAS_GENRE]->(g:Genre)
+            RETURN g
+            ORDER BY g.name
+            """;
+        return queries.list("genre.forFilm", query, Values.parameters("filmId", filmId), this::mapRecordToGenre);
     }
 
     // Delete a genre
     public void delete(int genreId) {
-        try (Session session = driver.session()) {
-            String query = "MATCH (g:Genre {id: $id}) DETACH DELETE g";
-            session.run(query, Values.parameters("id", genreId));
-        }
+        String query = "MATCH (g:Genre {id: $id}) DETACH DELETE g";
+        queries.execute("genre.delete", query, Values.parameters("id", genreId));
     }
 
     // Count total genres
     public long count() {
-        try (Session session = driver.session()) {
-            String query = "MATCH (g:Genre) RETURN count(g) as count";
-            Result result = session.run(query);
-            return result.single().get("count").asLong();
-        }
+        String query = "MATCH (g:Genre) RETURN count(g) as count";
+        return queries.single("genre.count", query, null, record -> record.get("count").asLong());
     }
 
     // Map Neo4j record to Genre object
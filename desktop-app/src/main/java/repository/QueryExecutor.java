@@ -0,0 +1,237 @@
+package repository;
+
+import config.Neo4jConfig;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.summary.Plan;
+import org.neo4j.driver.summary.ProfiledPlan;
+import org.neo4j.driver.summary.ResultSummary;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Single entry point for running Cypher against Neo4j.
+ * Every query is named so its latency can be tracked in a per-query histogram;
+ * a sample of executions is PROFILEd to capture db hits, and slow queries are logged with their plan.
+ */
+public class QueryExecutor {
+    private static QueryExecutor instance;
+
+    private final Driver driver;
+    private final long slowThresholdMs;
+    private final int profileSampleRate;
+    private final Map<String, QueryStats> stats = new ConcurrentHashMap<>();
+    // Queries that were slow without a plan: profile their next run so the plan gets logged
+    private final Set<String> profileNext = ConcurrentHashMap.newKeySet();
+
+    public QueryExecutor(Driver driver, long slowThresholdMs, int profileSampleRate) {
+        this.driver = driver;
+        this.slowThresholdMs = slowThresholdMs;
+        this.profileSampleRate = profileSampleRate;
+    }
+
+    public static synchronized QueryExecutor getInstance() {
+        if (instance == null) {
+            instance = new QueryExecutor(
+                    Neo4jConfig.getDriver(),
+                    Long.parseLong(Neo4jConfig.getProperty("neo4j.query.slow.threshold.ms", "500")),
+                    Integer.parseInt(Neo4jConfig.getProperty("neo4j.query.profile.sample.rate", "100"))
+            );
+        }
+        return instance;
+    }
+
+    public Driver getDriver() {
+        return driver;
+    }
+
+    // ==================== QUERY HELPERS ====================
+
+    // Run a read query and map every record
+    public <T> List<T> list(String name, String cypher, Value params, Function<Record, T> mapper) {
+        try (Session session = driver.session()) {
+            return run(session, name, cypher, params, result -> {
+                List<T> rows = new ArrayList<>();
+                while (result.hasNext()) {
+                    rows.add(mapper.apply(result.next()));
+                }
+                return rows;
+            });
+        }
+    }
+
+    // Run a query and map the first record, if any
+    public <T> Optional<T> first(String name, String cypher, Value params, Function<Record, T> mapper) {
+        try (Session session = driver.session()) {
+            return run(session, name, cypher, params,
+                    result -> result.hasNext() ? Optional.of(mapper.apply(result.next())) : Optional.<T>empty());
+        }
+    }
+
+    // Run a query that returns exactly one record
+    public <T> T single(String name, String cypher, Value params, Function<Record, T> mapper) {
+        try (Session session = driver.session()) {
+            return run(session, name, cypher, params, result -> mapper.apply(result.single()));
+        }
+    }
+
+    // Run a write query, discarding its records
+    public void execute(String name, String cypher, Value params) {
+        try (Session session = driver.session()) {
+            execute(session, name, cypher, params);
+        }
+    }
+
+    // Run a write query inside a session owned by the caller (several statements, one session)
+    public void execute(Session session, String name, String cypher, Value params) {
+        run(session, name, cypher, params, result -> null);
+    }
+
+    private <T> T run(Session session, String name, String cypher, Value params, Function<Result, T> reader) {
+        Value parameters = params != null ? params : Values.parameters();
+        QueryStats queryStats = stats.computeIfAbsent(name, QueryStats::new);
+        boolean profiled = shouldProfile(name, queryStats);
+        String statement = profiled ? "PROFILE\n" + cypher : cypher;
+
+        long start = System.nanoTime();
+        ResultSummary summary;
+        T value;
+        try {
+            Result result = session.run(statement, parameters);
+            value = reader.apply(result);
+            summary = result.consume();
+        } catch (RuntimeException e) {
+            queryStats.recordFailure();
+            throw e;
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        long availableAfter = summary.resultAvailableAfter(TimeUnit.MILLISECONDS);
+        long consumedAfter = summary.resultConsumedAfter(TimeUnit.MILLISECONDS);
+        queryStats.record(elapsedNanos, availableAfter, consumedAfter, cardinality(parameters));
+
+        long dbHits = -1;
+        if (summary.hasProfile()) {
+            dbHits = totalDbHits(summary.profile());
+            queryStats.recordDbHits(dbHits);
+        }
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        if (elapsedMs >= slowThresholdMs) {
+            logSlowQuery(name, elapsedMs, availableAfter, consumedAfter, parameters, dbHits, summary);
+        }
+        return value;
+    }
+
+    private boolean shouldProfile(String name, QueryStats queryStats) {
+        if (profileNext.remove(name)) return true;
+        if (profileSampleRate <= 0) return false;
+        // Profile the first run, then one in every N runs
+        return queryStats.getCount() % profileSampleRate == 0;
+    }
+
+    // Number of parameters, counting every element of list parameters
+    static int cardinality(Value params) {
+        int total = 0;
+        for (String key : params.keys()) {
+            Object value = params.get(key).asObject();
+            total += value instanceof Collection<?> collection ? collection.size() : 1;
+        }
+        return total;
+    }
+
+    private static long totalDbHits(ProfiledPlan plan) {
+        long hits = plan.dbHits();
+        for (ProfiledPlan child : plan.children()) {
+            hits += totalDbHits(child);
+        }
+        return hits;
+    }
+
+    private void logSlowQuery(String name, long elapsedMs, long availableAfter, long consumedAfter,
+                              Value params, long dbHits, ResultSummary summary) {
+        StringBuilder message = new StringBuilder()
+                .append("[Slow query] ").append(name)
+                .append(" took ").append(elapsedMs).append("ms")
+                .append(" (available after ").append(availableAfter).append("ms")
+                .append(", consumed after ").append(consumedAfter).append("ms")
+                .append(", params=").append(cardinality(params));
+        if (dbHits >= 0) {
+            message.append(", dbHits=").append(dbHits);
+        }
+        message.append(")");
+
+        if (summary.hasProfile()) {
+            message.append('\n');
+            appendPlan(message, summary.profile(), 1);
+        } else if (summary.hasPlan()) {
+            message.append('\n');
+            appendPlan(message, summary.plan(), 1);
+        } else {
+            profileNext.add(name);
+            message.append(" - plan will be captured on next run");
+        }
+        System.err.println(message);
+    }
+
+    private static void appendPlan(StringBuilder out, Plan plan, int depth) {
+        out.append("  ".repeat(depth)).append("+").append(plan.operatorType());
+        if (plan instanceof ProfiledPlan profiledPlan) {
+            out.append(" rows=").append(profiledPlan.records())
+               .append(" dbHits=").append(profiledPlan.dbHits());
+        }
+        Value details = plan.arguments().get("Details");
+        if (details != null && !details.isNull()) {
+            out.append(" [").append(details.asObject()).append("]");
+        }
+        out.append('\n');
+        for (Plan child : plan.children()) {
+            appendPlan(out, child, depth + 1);
+        }
+    }
+
+    // ==================== STATISTICS ====================
+
+    public Optional<QueryStats> getStats(String name) {
+        return Optional.ofNullable(stats.get(name));
+    }
+
+    // All query stats, slowest total time first
+    public List<QueryStats> getAllStats() {
+        List<QueryStats> all = new ArrayList<>(stats.values());
+        all.sort(Comparator.comparingDouble(QueryStats::getTotalMillis).reversed());
+        return all;
+    }
+
+    public String report() {
+        StringBuilder report = new StringBuilder("==== Neo4j query latency ====\n");
+        for (QueryStats queryStats : getAllStats()) {
+            report.append(queryStats.summary()).append('\n');
+        }
+        return report.toString();
+    }
+
+    public void printReport() {
+        if (!stats.isEmpty()) {
+            System.out.println(report());
+        }
+    }
+
+    public void resetStats() {
+        stats.clear();
+        profileNext.clear();
+    }
+}
@@ -0,0 +1,101 @@
+package repository;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and counters for a single named Cypher query.
+ * Buckets are fixed (in milliseconds) so recording is lock-free.
+ */
+public class QueryStats {
+    private static final long[] BUCKET_BOUNDS_MS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MS.length + 1);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Long::max, 0);
+    private final LongAdder serverAvailableMs = new LongAdder();
+    private final LongAdder serverConsumedMs = new LongAdder();
+    private final LongAccumulator maxParamCardinality = new LongAccumulator(Long::max, 0);
+    private final LongAdder profiledRuns = new LongAdder();
+    private volatile long lastDbHits = -1;
+
+    public QueryStats(String name) {
+        this.name = name;
+    }
+
+    // Record a successful execution (wall time measured client side)
+    public void record(long elapsedNanos, long availableAfterMs, long consumedAfterMs, int paramCardinality) {
+        long micros = elapsedNanos / 1_000;
+        count.increment();
+        totalMicros.add(micros);
+        maxMicros.accumulate(micros);
+        buckets.incrementAndGet(bucketIndex(micros / 1_000));
+        if (availableAfterMs >= 0) serverAvailableMs.add(availableAfterMs);
+        if (consumedAfterMs >= 0) serverConsumedMs.add(consumedAfterMs);
+        maxParamCardinality.accumulate(paramCardinality);
+    }
+
+    public void recordFailure() {
+        failures.increment();
+    }
+
+    public void recordDbHits(long dbHits) {
+        profiledRuns.increment();
+        lastDbHits = dbHits;
+    }
+
+    private static int bucketIndex(long millis) {
+        for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+            if (millis < BUCKET_BOUNDS_MS[i]) return i;
+        }
+        return BUCKET_BOUNDS_MS.length;
+    }
+
+    /**
+     * Upper bound (ms) of the bucket holding the given percentile (0.0 - 1.0).
+     * The overflow bucket reports the observed maximum instead.
+     */
+    public long percentileMillis(double percentile) {
+        long total = count.sum();
+        if (total == 0) return 0;
+        long target = Math.max(1, (long) Math.ceil(percentile * total));
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= target) {
+                return i < BUCKET_BOUNDS_MS.length ? BUCKET_BOUNDS_MS[i] : getMaxMillis();
+            }
+        }
+        return getMaxMillis();
+    }
+
+    public String getName() { return name; }
+    public long getCount() { return count.sum(); }
+    public long getFailures() { return failures.sum(); }
+    public long getProfiledRuns() { return profiledRuns.sum(); }
+    public long getLastDbHits() { return lastDbHits; }
+    public long getMaxParamCardinality() { return maxParamCardinality.get(); }
+    public long getMaxMillis() { return maxMicros.get() / 1_000; }
+    public double getTotalMillis() { return totalMicros.sum() / 1_000.0; }
+
+    public double getMeanMillis() {
+        long total = count.sum();
+        return total == 0 ? 0.0 : getTotalMillis() / total;
+    }
+
+    public double getMeanServerMillis() {
+        long total = count.sum();
+        return total == 0 ? 0.0 : (serverAvailableMs.sum() + serverConsumedMs.sum()) / (double) total;
+    }
+
+    public String summary() {
+        return String.format("%-40s n=%-6d err=%-3d mean=%.1fms server=%.1fms p50<=%dms p95<=%dms p99<=%dms max=%dms params<=%d dbHits=%s",
+                name, getCount(), getFailures(), getMeanMillis(), getMeanServerMillis(),
+                percentileMillis(0.50), percentileMillis(0.95), percentileMillis(0.99), getMaxMillis(),
+                getMaxParamCardinality(), lastDbHits < 0 ? "n/a" : String.valueOf(lastDbHits));
+    }
+}
@@ -1,10 +1,10 @@
 package repository;
 
 
-import config.Neo4jConfig;
 import model.User;
-import org.neo4j.driver.*;
 import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -12,9 +12,9 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 public class UserRepository {
-    public final Driver driver;
+    private final QueryExecutor queries;
     public UserRepository(){
-        this.driver = Neo4jConfig.getDriver();
+        this.queries = QueryExecutor.getInstance();
     }
 
     //create user database
@@ -23,8 +23,7 @@ public class UserRepository {
         String id = UUID.randomUUID().toString();
         u.setId(id);
 
-        try(Session session =driver.session()){
-            String query ="""
+        String query ="""
                     CREATE (u:User{
                         id: $id,
                         username:$username,
@@ -38,19 +37,17 @@ public class UserRepository {
                     })
                     RETURN u
                     """;
-            session.run(query, Values.parameters(
-                        "id",id,
-                        "username", u.getUsername(),
-                        "email", u.getEmail(),
-                        "password", u.getPassword(),
-                        "firstName", u.getFirstName(),
-                        "lastName", u.getLastName(),
-                        "createdAt", u.getCreatedAt().toString(),
-                        "favoriteGenres", u.getFavoriteGenres()
-                    ));
-            return u;
-
-        }
+        queries.execute("user.create", query, Values.parameters(
+                    "id",id,
+                    "username", u.getUsername(),
+                    "email", u.getEmail(),
+                    "password", u.getPassword(),
+                    "firstName", u.getFirstName(),
+                    "lastName", u.getLastName(),
+                    "createdAt", u.getCreatedAt().toString(),
+                    "favoriteGenres", u.getFavoriteGenres()
+                ));
+        return u;
     }
 
     //map neo4j record to user object
@@ -116,179 +113,122 @@ public class UserRepository {
     //find user by username
 
     public Optional<User> findByUsername(String u){
-        try(Session session =driver.session()){
-            String query="MATCH (u:User {username:$username}) RETURN u";
-            Result result= session.run(query,Values.parameters("username",u));
-            if (result.hasNext()){
-                return Optional.of(mapRecordToUser(result.next()));
-
-            }
-            return Optional.empty();
-        }
+        String query="MATCH (u:User {username:$username}) RETURN u";
+        return queries.first("user.findByUsername", query, Values.parameters("username",u), this::mapRecordToUser);
     }
 
     //find user by email
     public Optional<User> findByEmail(String e){
-        try(Session session =driver.session()){
-            String query="MATCH (u:User {email:$email}) RETURN u";
-            Result result= session.run(query,Values.parameters("email",e));
-            if (result.hasNext()){
-                return Optional.of(mapRecordToUser(result.next()));
-
-            }
-            return Optional.empty();
-        }
+        String query="MATCH (u:User {email:$email}) RETURN u";
+        return queries.first("user.findByEmail", query, Values.parameters("email",e), this::mapRecordToUser);
     }
 
     //find user by id
     public Optional<User> findById(String id){
-        try(Session session =driver.session()){
-            String query="MATCH (u:User {id:$id}) RETURN u";
-            Result result= session.run(query,Values.parameters("id",id));
-            if (result.hasNext()){
-                return Optional.of(mapRecordToUser(result.next()));
-
-            }
-            return Optional.empty();
-        }
+        String query="MATCH (u:User {id:$id}) RETURN u";
+        return queries.first("user.findById", query, Values.parameters("id",id), this::mapRecordToUser);
     }
 
     //Find user by username or email
     public Optional<User> findByUsernameOrEmail(String ue){
-        try(Session session =driver.session()){
-            String query="""
-                            MATCH (u:User)
-                            WHERE u.username = $value OR u.email = $value
-                            RETURN u
-                        """;;
-            Result result= session.run(query,Values.parameters("value",ue));
-            if (result.hasNext()){
-                return Optional.of(mapRecordToUser(result.next()));
-
-            }
-            return Optional.empty();
-        }
+        String query="""
+                        MATCH (u:User)
+                        WHERE u.username = $value OR u.email = $value
+                        RETURN u
+                    """;
+        return queries.first("user.findByUsernameOrEmail", query, Values.parameters("value",ue), this::mapRecordToUser);
     }
 
     // check username exist
     public boolean usernameExists(String u){
-        try(Session session =driver.session()){
-            String query= "MATCH (u:User {username: $username}) RETURN count(u)>0 AS exists";
-            Result result = session.run(query, Values.parameters("username", u));
-            return result.single().get("exists").asBoolean();
-        }
-
+        String query= "MATCH (u:User {username: $username}) RETURN count(u)>0 AS exists";
+        return queries.single("user.usernameExists", query, Values.parameters("username", u),
+                record -> record.get("exists").asBoolean());
     }
 
     // check email exist
     public boolean emailExists(String e){
-        try(Session session =driver.session()){
-            String query= "MATCH (u:User {email: $email}) RETURN count(u)>0 AS exists";
-            Result result = session.run(query, Values.parameters("email", e));
-            return result.single().get("exists").asBoolean();
-        }
-
+        String query= "MATCH (u:User {email: $email}) RETURN count(u)>0 AS exists";
+        return queries.single("user.emailExists", query, Values.parameters("email", e),
+                record -> record.get("exists").asBoolean());
     }
 
     // update last login time
     public void updateLastLogin(String id){
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (u:User {id: $id})
-                SET u.lastLogin = $lastLogin
-                """;
-            session.run(query,Values.parameters(
-                "id",id,
-                "lastLogin", LocalDateTime.now().toString()
+        String query = """
+            MATCH (u:User {id: $id})
+            SET u.lastLogin = $lastLogin
+            """;
+        queries.execute("user.updateLastLogin", query, Values.parameters(
+            "id",id,
+            "lastLogin", LocalDateTime.now().toString()
 
-            ));
-        }
+        ));
     }
 
     // update user
     public void updateProfile(User u) {
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (u:User {id: $id})
-                SET u.firstName = $firstName,
-                    u.lastName = $lastName,
-                    u.favoriteGenres = $favoriteGenres
-                """;
-            session.run(query, Values.parameters(
-                    "id", u.getId(),
-                    "firstName", u.getFirstName(),
-                    "lastName", u.getLastName(),
-                    "favoriteGenres", u.getFavoriteGenres()
-            ));
-        }
+        String query = """
+            MATCH (u:User {id: $id})
+            SET u.firstName = $firstName,
+                u.lastName = $lastName,
+                u.favoriteGenres = $favoriteGenres
+            """;
+        queries.execute("user.updateProfile", query, Values.parameters(
+                "id", u.getId(),
+                "firstName", u.getFirstName(),
+                "lastName", u.getLastName(),
+                "favoriteGenres", u.getFavoriteGenres()
+        ));
     }
 
     //update password
     public void updatePassword(String id, String newpass) {
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (u:User {id: $id})
-                SET u.password = $password
-                """;
-            session.run(query, Values.parameters(
-                    "id", id,
-                    "password", newpass
-            ));
-        }
+        String query = """
+            MATCH (u:User {id: $id})
+            SET u.password = $password
+            """;
+        queries.execute("user.updatePassword", query, Values.parameters(
+                "id", id,
+                "password", newpass
+        ));
     }
 
     //delete user
     public void delete(String id) {
-        try (Session session = driver.session()) {
-            String query = "MATCH (u:User {id: $id}) DETACH DELETE u";
-            session.run(query, Values.parameters("id", id));
-        }
+        String query = "MATCH (u:User {id: $id}) DETACH DELETE u";
+        queries.execute("user.delete", query, Values.parameters("id", id));
     }
     
     // all users
     public List<User> findAll() {
-        List<User> users = new ArrayList<>();
-        try (Session session = driver.session()) {
-            String query = "MATCH (u:User) RETURN u";
-            Result result = session.run(query);
-
-            while (result.hasNext()) {
-                users.add(mapRecordToUser(result.next()));
-            }
-        }
-        return users;
+        String query = "MATCH (u:User) RETURN u";
+        return queries.list("user.findAll", query, null, this::mapRecordToUser);
     }
 
     // Set onboarding completed flag for user
     public void setOnboardingCompleted(String userId, boolean completed) {
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (u:User {id: $userId})
-                SET u.onboardingCompleted = $completed
-                """;
-            session.run(query, Values.parameters(
-                    "userId", userId,
-                    "completed", completed
-            ));
-        }
+        String query = """
+            MATCH (u:User {id: $userId})
+            SET u.onboardingCompleted = $completed
+            """;
+        queries.execute("user.setOnboardingCompleted", query, Values.parameters(
+                "userId", userId,
+                "completed", completed
+        ));
     }
 
     // Check if user has completed onboarding
     public boolean hasCompletedOnboarding(String userId) {
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (u:User {id: $userId})
-                RETURN u.onboardingCompleted AS completed
-                """;
-            Result result = session.run(query, Values.parameters("userId", userId));
-            if (result.hasNext()) {
-                Value value = result.next().get("completed");
-                if (!value.isNull()) {
-                    return value.asBoolean();
-                }
-            }
-            return false;
-        }
+        String query = """
+            MATCH (u:User {id: $userId})
+            RETURN u.onboardingCompleted AS completed
+            """;
+        return queries.first("user.hasCompletedOnboarding", query, Values.parameters("userId", userId),
+                record -> {
+                    Value value = record.get("completed");
+                    return !value.isNull() && value.asBoolean();
+                }).orElse(false);
     }
 
 }
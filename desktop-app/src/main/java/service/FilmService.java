@@ -1,17 +1,26 @@
 package service;
 
 import model.Film;
+import model.FilmPage;
 import model.Genre;
+import model.UserLibrary;
 import repository.FilmRepository;
 import repository.GenreRepository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 public class FilmService {
     private final FilmRepository filmRepository;
     private final GenreRepository genreRepository;
     private final TmdbService tmdbService;
+    // List memberships of the logged-in user, once loaded (see loadUserLibrary)
+    private volatile UserLibrary userLibrary;
+    // Titles of every film fetched or loaded so far, for search-as-you-type
+    private final TitleIndex titleIndex = new TitleIndex();
+    // Films loaded from Neo4j into the title index at startup
+    private static final int TITLE_INDEX_SEED = 2000;
 
     public FilmService() {
         this.filmRepository = new FilmRepository();
@@ -34,6 +43,14 @@ public class FilmService {
         return films;
     }
 
+    // Get popular films from TMDB without writing them (dashboard pages, including prefetched
+    // ones the user may never see); the page is saved with saveFilms once shown
+    public List<Film> fetchPopularFilms(int page) {
+        List<Film> films = tmdbService.getPopularMovies(page);
+        titleIndex.addAll(films);
+        return films;
+    }
+
     // Get top rated films from TMDB
     public List<Film> getTopRatedFilms(int page) {
         List<Film> films = tmdbService.getTopRatedMovies(page);
@@ -51,6 +68,17 @@ public class FilmService {
         return films;
     }
 
+    // Search films from TMDB without writing them (search-as-you-type): only the title index
+    // learns them. Persist what the user keeps with saveFilms / saveFilm
+    public List<Film> fetchSearchResults(String query, int page) {
+        if (query == null || query.trim().isEmpty()) {
+            return List.of();
+        }
+        List<Film> films = tmdbService.searchMovies(query.trim(), page);
+        titleIndex.addAll(films);
+        return films;
+    }
+
     // Get films by genre from TMDB
     public List<Film> getFilmsByGenre(List<Integer> genreIds, int page) {
         if (genreIds == null || genreIds.isEmpty()) {
@@ -61,8 +89,18 @@ public class FilmService {
         return films;
     }
 
+    // Save films fetched without persisting them, once the user acts on them
+    public void saveFilms(List<Film> films) {
+        saveFilmsToDatabase(films);
+    }
+
+    public void saveFilm(Film film) {
+        saveFilmsToDatabase(List.of(film));
+    }
+
     // Save films to database
     private void saveFilmsToDatabase(List<Film> films) {
+        titleIndex.addAll(films);
         for (Film film : films) {
             try {
                 filmRepository.save(film);
@@ -89,6 +127,26 @@ public class FilmService {
         return filmRepository.findById(filmId);
     }
 
+    // ==================== LOCAL SEARCH ====================
+
+    // Search the titles already known locally (no network, no database)
+    public List<Film> searchLocal(String query, int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            return List.of();
+        }
+        return titleIndex.search(query, limit);
+    }
+
+    // Keep every stored film in memory for the read queries (see FilmCatalog)
+    public void loadCatalog() {
+        filmRepository.loadCatalog();
+    }
+
+    // Fill the title index with the most popular films stored in Neo4j
+    public void seedTitleIndex() {
+        titleIndex.addAll(filmRepository.getPopularFilms(TITLE_INDEX_SEED));
+    }
+
     // Search films in database
     public List<Film> searchFilmsInDatabase(String title) {
         if (title == null || title.trim().isEmpty()) {
@@ -107,6 +165,25 @@ public class FilmService {
         return filmRepository.findByGenre(genreId, limit);
     }
 
+    // ==================== USER LIBRARY ====================
+
+    // Load the user's list memberships so isInWatchlist/isInFavorites stop querying Neo4j
+    public UserLibrary loadUserLibrary(String userId) {
+        UserLibrary library = filmRepository.getUserLibrary(userId);
+        this.userLibrary = library;
+        return library;
+    }
+
+    // Drop the snapshot (logout)
+    public void clearUserLibrary() {
+        this.userLibrary = null;
+    }
+
+    private UserLibrary libraryFor(String userId) {
+        UserLibrary library = this.userLibrary;
+        return library != null && library.belongsTo(userId) ? library : null;
+    }
+
     // ==================== WATCHLIST ====================
 
     // Add film to user's watchlist
@@ -117,12 +194,16 @@ public class FilmService {
         ensureFilmExists(filmId);
         
         filmRepository.addToUserWatchlist(userId, filmId);
+        UserLibrary library = libraryFor(userId);
+        if (library != null) library.setInWatchlist(filmId, true);
     }
 
     // Remove film from watchlist
     public void removeFromWatchlist(String userId, long filmId) {
         validateUserAndFilm(userId, filmId);
         filmRepository.removeFromUserWatchlist(userId, filmId);
+        UserLibrary library = libraryFor(userId);
+        if (library != null) library.setInWatchlist(filmId, false);
     }
 
     // Get user's watchlist
@@ -133,11 +214,29 @@ public class FilmService {
         return filmRepository.getUserWatchlist(userId);
     }
 
+    // One page of a user list (see FilmRepository.getUserListPage)
+    public FilmPage getUserListPage(String userId, FilmRepository.UserList list, FilmPage.Cursor after, int size) {
+        if (userId == null || userId.trim().isEmpty()) {
+            return new FilmPage(List.of(), null);
+        }
+        return filmRepository.getUserListPage(userId, list, after, size);
+    }
+
+    // Read a user list page by page; onPage returns false to stop
+    public void streamUserList(String userId, FilmRepository.UserList list, int pageSize, Predicate<List<Film>> onPage) {
+        if (userId == null || userId.trim().isEmpty()) {
+            return;
+        }
+        filmRepository.streamUserList(userId, list, pageSize, onPage);
+    }
+
     // Check if film is in watchlist
     public boolean isInWatchlist(String userId, long filmId) {
         if (userId == null || userId.trim().isEmpty()) {
             return false;
         }
+        UserLibrary library = libraryFor(userId);
+        if (library != null) return library.isInWatchlist(filmId);
         return filmRepository.isInWatchlist(userId, filmId);
     }
 
@@ -151,12 +250,16 @@ public class FilmService {
         ensureFilmExists(filmId);
         
         filmRepository.addToUserFavorites(userId, filmId);
+        UserLibrary library = libraryFor(userId);
+        if (library != null) library.setInFavorites(filmId, true);
     }
 
     // Remove film from favorites
     public void removeFromFavorites(String userId, long filmId) {
         validateUserAndFilm(userId, filmId);
         filmRepository.removeFromUserFavorites(userId, filmId);
+        UserLibrary library = libraryFor(userId);
+        if (library != null) library.setInFavorites(filmId, false);
     }
 
     // Get user's favorite films
@@ -172,6 +275,8 @@ public class FilmService {
         if (userId == null || userId.trim().isEmpty()) {
             return false;
         }
+        UserLibrary library = libraryFor(userId);
+        if (library != null) return library.isInFavorites(filmId);
         return filmRepository.isInFavorites(userId, filmId);
     }
 
@@ -223,6 +328,8 @@ public class FilmService {
         ensureFilmExists(filmId);
         
         filmRepository.markAsWatched(userId, filmId);
+        UserLibrary library = libraryFor(userId);
+        if (library != null) library.setWatched(filmId, true);
     }
 
     // Get user's watched films
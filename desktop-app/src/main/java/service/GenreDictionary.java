@@ -0,0 +1,240 @@
+package service;
+
+import config.Neo4jConfig;
+import model.Genre;
+import repository.GenreRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Genre id -> name lookup shared by the whole application, one dictionary per TMDB locale.
+ * Readers see an immutable snapshot (names stored in an array indexed by genre id) published
+ * through a volatile field, so lookups are O(1) and never block. New snapshots are built from
+ * TMDB in the background on a schedule; when TMDB is unreachable the default locale uses the
+ * Neo4j Genre nodes and other locales use the default locale's names.
+ */
+public class GenreDictionary {
+    // TMDB genre ids stay below this; larger ids go to a small overflow map
+    private static final int MAX_ARRAY_ID = 20_000;
+    // After a failed load, callers do not retry synchronously before this delay
+    private static final long RETRY_DELAY_MS = 30_000;
+
+    private static final Map<String, GenreDictionary> byLanguage = new ConcurrentHashMap<>();
+    private static ScheduledExecutorService refresher;
+
+    private final Supplier<Map<Integer, String>> primary;
+    private final Supplier<Map<Integer, String>> fallback;
+    private final Object loadLock = new Object();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile long lastFailure;
+
+    /**
+     * Immutable content of the dictionary
+     */
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), "empty");
+
+        final String[] names;
+        final Map<Integer, String> overflow;
+        final Map<Integer, String> asMap;
+        final String source;
+
+        Snapshot(Map<Integer, String> source, String origin) {
+            int maxId = 0;
+            for (int id : source.keySet()) {
+                if (id >= 0 && id <= MAX_ARRAY_ID) maxId = Math.max(maxId, id);
+            }
+            String[] byId = new String[maxId + 1];
+            Map<Integer, String> large = new HashMap<>();
+            Map<Integer, String> ordered = new LinkedHashMap<>();
+
+            List<Map.Entry<Integer, String>> entries = new ArrayList<>(source.entrySet());
+            entries.sort(Map.Entry.comparingByValue(Comparator.nullsLast(Comparator.naturalOrder())));
+            for (Map.Entry<Integer, String> entry : entries) {
+                int id = entry.getKey();
+                String name = entry.getValue();
+                if (id < 0 || name == null || name.isBlank()) continue;
+                if (id <= MAX_ARRAY_ID) {
+                    byId[id] = name;
+                } else {
+                    large.put(id, name);
+                }
+                ordered.put(id, name);
+            }
+            this.names = byId;
+            this.overflow = Map.copyOf(large);
+            this.asMap = Collections.unmodifiableMap(ordered);
+            this.source = origin;
+        }
+
+        String name(int id) {
+            if (id >= 0 && id < names.length) return names[id];
+            return overflow.get(id);
+        }
+    }
+
+    GenreDictionary(Supplier<Map<Integer, String>> primary, Supplier<Map<Integer, String>> fallback) {
+        this.primary = primary;
+        this.fallback = fallback;
+    }
+
+    // Dictionary of the default locale (tmdb.language)
+    public static GenreDictionary getInstance() {
+        return forLanguage(TmdbService.getDefaultLanguage());
+    }
+
+    public static GenreDictionary forLanguage(String language) {
+        return byLanguage.computeIfAbsent(language, GenreDictionary::create);
+    }
+
+    private static GenreDictionary create(String language) {
+        Supplier<Map<Integer, String>> tmdb = () -> new TmdbService(language).fetchGenreMap();
+        if (!language.equals(TmdbService.getDefaultLanguage())) {
+            return new GenreDictionary(tmdb, () -> getInstance().ensureLoaded().asMap());
+        }
+        // Genre nodes are synced from TMDB in the default locale
+        return new GenreDictionary(tmdb, () -> {
+            Map<Integer, String> names = new HashMap<>();
+            for (Genre genre : new GenreRepository().findAll()) {
+                names.put(genre.getId(), genre.getName());
+            }
+            return names;
+        });
+    }
+
+    // Loaded dictionaries by locale, for persisting them
+    public static Map<String, Map<Integer, String>> loadedSnapshots() {
+        Map<String, Map<Integer, String>> loaded = new HashMap<>();
+        byLanguage.forEach((language, dictionary) -> {
+            if (dictionary.isLoaded()) loaded.put(language, dictionary.asMap());
+        });
+        return loaded;
+    }
+
+    public static void clearAll() {
+        byLanguage.values().forEach(GenreDictionary::clear);
+    }
+
+    // ==================== LOOKUP ====================
+
+    // Name of a genre, or null when unknown
+    public String name(int id) {
+        return snapshot.name(id);
+    }
+
+    public String nameOrDefault(int id, String defaultName) {
+        String name = snapshot.name(id);
+        return name != null ? name : defaultName;
+    }
+
+    // Read-only id -> name view, sorted by name
+    public Map<Integer, String> asMap() {
+        return snapshot.asMap;
+    }
+
+    public int size() {
+        return snapshot.asMap.size();
+    }
+
+    public boolean isLoaded() {
+        return !snapshot.asMap.isEmpty();
+    }
+
+    public String getSource() {
+        return snapshot.source;
+    }
+
+    // ==================== LOADING ====================
+
+    /**
+     * Load the dictionary if it is still empty; concurrent callers wait for a single load
+     */
+    public GenreDictionary ensureLoaded() {
+        if (isLoaded() || System.currentTimeMillis() - lastFailure < RETRY_DELAY_MS) {
+            return this;
+        }
+        synchronized (loadLock) {
+            if (!isLoaded()) {
+                refresh();
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Build a new snapshot from TMDB (or Neo4j) and publish it; the current one stays on failure
+     */
+    public boolean refresh() {
+        synchronized (loadLock) {
+            if (tryLoad(primary, "tmdb") || tryLoad(fallback, "neo4j")) {
+                return true;
+            }
+            lastFailure = System.currentTimeMillis();
+            System.err.println("Genre dictionary refresh failed, keeping " + snapshot.source + " data");
+            return false;
+        }
+    }
+
+    private boolean tryLoad(Supplier<Map<Integer, String>> loader, String source) {
+        try {
+            Map<Integer, String> names = loader.get();
+            if (names == null || names.isEmpty()) return false;
+            publish(names, source);
+            return true;
+        } catch (RuntimeException e) {
+            System.err.println("Genre load from " + source + " failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Replace the content in one step; readers see either the old or the new snapshot
+    public void publish(Map<Integer, String> names, String source) {
+        Snapshot next = new Snapshot(names, source);
+        snapshot = next;
+        System.out.println("Genre dictionary: " + next.asMap.size() + " genres from " + source);
+    }
+
+    public void clear() {
+        snapshot = Snapshot.EMPTY;
+        lastFailure = 0;
+    }
+
+    // ==================== BACKGROUND REFRESH ====================
+
+    /**
+     * Refresh every dictionary periodically on a daemon thread
+     */
+    public static synchronized void startRefresh() {
+        if (refresher != null) return;
+        long periodHours = Long.parseLong(Neo4jConfig.getProperty("genres.refresh.hours", "24"));
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "genre-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Data restored from disk or Neo4j is replaced by TMDB's as soon as possible
+        refresher.schedule(() -> byLanguage.values().forEach(dictionary -> {
+            if (!"tmdb".equals(dictionary.getSource())) dictionary.refresh();
+        }), 0, TimeUnit.SECONDS);
+        refresher.scheduleAtFixedRate(() -> byLanguage.values().forEach(GenreDictionary::refresh),
+                periodHours, periodHours, TimeUnit.HOURS);
+    }
+
+    public static synchronized void stopRefresh() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+            refresher = null;
+        }
+    }
+}
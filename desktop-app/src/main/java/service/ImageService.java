@@ -0,0 +1,356 @@
+package service;
+
+import config.Neo4jConfig;
+import config.UiTaskScheduler;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Loads TMDB posters and profile pictures through two cache tiers:
+ * decoded images in memory (LRU bounded by pixel bytes) and the fetched files on disk,
+ * keyed by TMDB size and path. Downloads run on a small bounded pool and concurrent
+ * requests for the same image share a single download.
+ */
+public class ImageService {
+    private static final String TMDB_IMAGE_PREFIX = "https://image.tmdb.org/t/p/";
+    // Property key set on an ImageView so a late result never overwrites a newer request
+    private static final String VIEW_KEY = "imageService.key";
+
+    private static ImageService instance;
+
+    private final Path cacheDir;
+    private final long maxMemoryBytes;
+    private final long maxDiskBytes;
+    private final ExecutorService downloads;
+    private final Map<String, CompletableFuture<Image>> inFlight = new ConcurrentHashMap<>();
+
+    // Access-ordered map: iteration starts with the least recently used image
+    private final LinkedHashMap<String, Image> memory = new LinkedHashMap<>(256, 0.75f, true);
+    private long memoryBytes;
+    // Approximate size of the disk tier: measured by each prune, then grown by each write
+    private final AtomicLong diskBytes = new AtomicLong();
+    private final AtomicBoolean pruneScheduled = new AtomicBoolean(true);
+
+    private ImageService(Path cacheDir, long maxMemoryBytes, long maxDiskBytes, int threads) {
+        this.cacheDir = cacheDir;
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.maxDiskBytes = maxDiskBytes;
+        AtomicInteger counter = new AtomicInteger();
+        this.downloads = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "image-loader-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        downloads.execute(this::pruneDiskCache);
+    }
+
+    public static synchronized ImageService getInstance() {
+        if (instance == null) {
+            String defaultDir = Neo4jConfig.getCacheDir().resolve("images").toString();
+            instance = new ImageService(
+                    Paths.get(Neo4jConfig.getProperty("images.cache.dir", defaultDir)),
+                    Long.parseLong(Neo4jConfig.getProperty("images.memory.max.mb", "96")) * 1024 * 1024,
+                    Long.parseLong(Neo4jConfig.getProperty("images.disk.max.mb", "256")) * 1024 * 1024,
+                    Integer.parseInt(Neo4jConfig.getProperty("images.download.threads", "4"))
+            );
+        }
+        return instance;
+    }
+
+    // ==================== LOADING ====================
+
+    /**
+     * Show an image in a view, from memory when possible (must be called on the FX thread).
+     * A width/height of 0 keeps the original size; otherwise the image is decoded scaled down.
+     */
+    public void load(ImageView view, String url, double width, double height) {
+        if (url == null) {
+            view.getProperties().remove(VIEW_KEY);
+            return;
+        }
+        String key = cacheKey(url, width, height);
+        view.getProperties().put(VIEW_KEY, key);
+
+        Image cached = getCached(key);
+        if (cached != null) {
+            view.setImage(cached);
+            return;
+        }
+
+        fetch(url, width, height).thenAccept(image -> UiTaskScheduler.getInstance().runOnFx(() -> {
+            // The view may have been reused for another image meanwhile
+            if (key.equals(view.getProperties().get(VIEW_KEY))) {
+                view.setImage(image);
+            }
+        })).exceptionally(error -> {
+            System.err.println("Image load failed: " + url + " (" + error.getMessage() + ")");
+            return null;
+        });
+    }
+
+    public void load(ImageView view, String url) {
+        load(view, url, 0, 0);
+    }
+
+    /**
+     * Get an image, downloading it at most once however many callers ask for it concurrently
+     */
+    public CompletableFuture<Image> fetch(String url, double width, double height) {
+        String key = cacheKey(url, width, height);
+        Image cached = getCached(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<Image> future = new CompletableFuture<>();
+        CompletableFuture<Image> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return existing;
+        }
+        // Started only once registered, so even an instant failure releases the key for a retry
+        future.whenComplete((image, error) -> inFlight.remove(key, future));
+        CompletableFuture.runAsync(() -> {
+            try {
+                Image image = decode(readBytes(url), width, height);
+                putCached(key, image);
+                future.complete(image);
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }, downloads);
+        return future;
+    }
+
+    // Warm the caches without showing the image anywhere
+    public void prefetch(String url, double width, double height) {
+        if (url != null) {
+            fetch(url, width, height);
+        }
+    }
+
+    private static Image decode(byte[] bytes, double width, double height) {
+        Image image = new Image(new ByteArrayInputStream(bytes), width, height, true, true);
+        if (image.isError()) {
+            throw new IllegalStateException("Cannot decode image", image.getException());
+        }
+        return image;
+    }
+
+    // ==================== MEMORY TIER ====================
+
+    private static String cacheKey(String url, double width, double height) {
+        return url + "@" + (int) width + "x" + (int) height;
+    }
+
+    private synchronized Image getCached(String key) {
+        return memory.get(key);
+    }
+
+    private synchronized void putCached(String key, Image image) {
+        Image previous = memory.put(key, image);
+        if (previous != null) {
+            memoryBytes -= pixelBytes(previous);
+        }
+        memoryBytes += pixelBytes(image);
+
+        Iterator<Map.Entry<String, Image>> eldest = memory.entrySet().iterator();
+        while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+            Map.Entry<String, Image> entry = eldest.next();
+            if (entry.getKey().equals(key)) continue;
+            memoryBytes -= pixelBytes(entry.getValue());
+            eldest.remove();
+        }
+    }
+
+    // Decoded size: 4 bytes per pixel
+    private static long pixelBytes(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+
+    public synchronized long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    public synchronized void clearMemory() {
+        memory.clear();
+        memoryBytes = 0;
+    }
+
+    // Stop downloading: files are moved into place atomically, so nothing half-written is left
+    public void shutdown() {
+        downloads.shutdownNow();
+    }
+
+    // Shut down the instance if one was created; never starts the pool just to stop it
+    public static synchronized void shutdownIfStarted() {
+        if (instance != null) {
+            instance.shutdown();
+        }
+    }
+
+    // ==================== DISK TIER ====================
+
+    private byte[] readBytes(String url) {
+        Path file = diskPath(url);
+        try {
+            if (Files.isRegularFile(file)) {
+                // Touch so pruning removes the least recently used files first
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+                return Files.readAllBytes(file);
+            }
+        } catch (IOException e) {
+            System.err.println("Image cache read failed: " + file + " (" + e.getMessage() + ")");
+        }
+
+        byte[] bytes = download(url);
+        writeToDisk(file, bytes);
+        return bytes;
+    }
+
+    // TMDB urls map to <size>/<file>, anything else to a hashed file name
+    private Path diskPath(String url) {
+        if (url.startsWith(TMDB_IMAGE_PREFIX)) {
+            String relative = url.substring(TMDB_IMAGE_PREFIX.length());
+            int slash = relative.indexOf('/');
+            if (slash > 0 && relative.indexOf('/', slash + 1) < 0 && !relative.contains("..")) {
+                return cacheDir.resolve(relative.substring(0, slash)).resolve(relative.substring(slash + 1));
+            }
+        }
+        return cacheDir.resolve("other").resolve(sha1(url));
+    }
+
+    private void writeToDisk(Path file, byte[] bytes) {
+        try {
+            Files.createDirectories(file.getParent());
+            // Write to a temp file then move, so a crash never leaves a truncated image behind
+            Path temp = Files.createTempFile(file.getParent(), "img", ".part");
+            Files.write(temp, bytes);
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.err.println("Image cache write failed: " + file + " (" + e.getMessage() + ")");
+            return;
+        }
+        // Keep the disk tier bounded during the session too, not only at the next start
+        if (diskBytes.addAndGet(bytes.length) > maxDiskBytes && pruneScheduled.compareAndSet(false, true)) {
+            try {
+                downloads.execute(this::pruneDiskCache);
+            } catch (RejectedExecutionException e) {
+                // Shutting down: the next start prunes
+                pruneScheduled.set(false);
+            }
+        }
+    }
+
+    private static byte[] download(String url) {
+        HttpURLConnection conn = null;
+        try {
+            conn = (HttpURLConnection) new URL(url).openConnection();
+            conn.setConnectTimeout(5000);
+            conn.setReadTimeout(10000);
+            if (conn.getResponseCode() != 200) {
+                throw new IOException("HTTP " + conn.getResponseCode());
+            }
+            try (InputStream in = conn.getInputStream()) {
+                return in.readAllBytes();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Download failed: " + e.getMessage(), e);
+        } finally {
+            if (conn != null) {
+                conn.disconnect();
+            }
+        }
+    }
+
+    // Delete the least recently used files until the disk cache fits its budget, leaving some
+    // headroom so a full cache is not rescanned on every new download
+    private void pruneDiskCache() {
+        try {
+            diskBytes.set(pruneDiskCache(maxDiskBytes - maxDiskBytes / 10));
+        } finally {
+            pruneScheduled.set(false);
+        }
+    }
+
+    // Returns the size left on disk
+    private long pruneDiskCache(long targetBytes) {
+        if (!Files.isDirectory(cacheDir)) return 0;
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> walk = Files.walk(cacheDir)) {
+            walk.filter(Files::isRegularFile).forEach(files::add);
+        } catch (IOException e) {
+            System.err.println("Image cache scan failed: " + e.getMessage());
+            return 0;
+        }
+
+        long total = 0;
+        Map<Path, Long> sizes = new HashMap<>();
+        Map<Path, Long> modified = new HashMap<>();
+        for (Path file : files) {
+            try {
+                sizes.put(file, Files.size(file));
+                modified.put(file, Files.getLastModifiedTime(file).toMillis());
+                total += sizes.get(file);
+            } catch (IOException e) {
+                // File vanished meanwhile
+            }
+        }
+        if (total <= maxDiskBytes) return total;
+
+        files.removeIf(file -> !sizes.containsKey(file));
+        files.sort(Comparator.comparingLong(modified::get));
+        for (Path file : files) {
+            if (total <= targetBytes) break;
+            try {
+                Files.deleteIfExists(file);
+                total -= sizes.get(file);
+            } catch (IOException e) {
+                // Keep going with the next file
+            }
+        }
+        return total;
+    }
+
+    private static String sha1(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            return Integer.toHexString(value.hashCode());
+        }
+    }
+}
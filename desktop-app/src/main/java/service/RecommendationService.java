@@ -4,36 +4,35 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import org.neo4j.driver.Driver;
 import org.neo4j.driver.Record;
-import org.neo4j.driver.Result;
-import org.neo4j.driver.Session;
 import org.neo4j.driver.Values;
 
-import config.Neo4jConfig;
 import model.Film;
 import model.Genre;
+import model.GenreMask;
 import repository.FilmRepository;
 import repository.GenreRepository;
+import repository.QueryExecutor;
 
 public class RecommendationService {
-    private final Driver driver;
+    private final QueryExecutor queries;
     private final FilmRepository filmRepository;
     private final GenreRepository genreRepository;
     private final TmdbService tmdbService;
 
     public RecommendationService() {
-        this.driver = Neo4jConfig.getDriver();
+        this.queries = QueryExecutor.getInstance();
         this.filmRepository = new FilmRepository();
         this.genreRepository = new GenreRepository();
         this.tmdbService = new TmdbService();
     }
 
     public RecommendationService(FilmRepository filmRepository, GenreRepository genreRepository, TmdbService tmdbService) {
-        this.driver = Neo4jConfig.getDriver();
+        this.queries = QueryExecutor.getInstance();
         this.filmRepository = filmRepository;
         this.genreRepository = genreRepository;
         this.tmdbService = tmdbService;
@@ -57,20 +56,36 @@ public class RecommendationService {
         }
 
         // Get genre IDs
-        List<Integer> genreIds = favoriteGenres.stream()
-                .map(Genre::getId)
-                .collect(Collectors.toList());
+        List<Integer> genreIds = new ArrayList<>(favoriteGenres.size());
+        for (Genre genre : favoriteGenres) {
+            genreIds.add(genre.getId());
+        }
+        long preferredGenres = GenreMask.of(favoriteGenres);
 
         // Get films from TMDB based on these genres
-        List<Film> recommendations = tmdbService.getRecommendedMovies(genreIds, 1);
+        List<Film> candidates = tmdbService.getRecommendedMovies(genreIds, 1);
 
-        // Filter out films the user has already watched
+        // Filter out films the user has already watched, then put the films matching
+        // the most favorite genres first (TMDB's popularity order is kept for ties)
         Set<Long> watchedFilmIds = getWatchedFilmIds(userId);
-        recommendations = recommendations.stream()
-                .filter(film -> !watchedFilmIds.contains(film.getId()))
-                .limit(limit)
-                .collect(Collectors.toList());
-
+        List<Film> unwatched = new ArrayList<>(candidates.size());
+        for (Film film : candidates) {
+            if (!watchedFilmIds.contains(film.getId())) unwatched.add(film);
+        }
+        // Each film's mask is built once; scores are small, so films are taken score by score
+        // (a stable counting sort) instead of comparing masks rebuilt in a comparator
+        int[] scores = new int[unwatched.size()];
+        int maxScore = 0;
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = GenreMask.overlap(preferredGenres, unwatched.get(i).getGenreMask());
+            maxScore = Math.max(maxScore, scores[i]);
+        }
+        List<Film> recommendations = new ArrayList<>(Math.max(0, Math.min(limit, scores.length)));
+        for (int score = maxScore; score >= 0 && recommendations.size() < limit; score--) {
+            for (int i = 0; i < scores.length && recommendations.size() < limit; i++) {
+                if (scores[i] == score) recommendations.add(unwatched.get(i));
+            }
+        }
         return recommendations;
     }
 
@@ -116,39 +131,31 @@ public class RecommendationService {
             return List.of();
         }
 
-        List<Film> recommendations = new ArrayList<>();
-
-        try (Session session = driver.session()) {
-            // Find films with similar genres to highly rated films
-            String query = """
-                MATCH (u:User {id: $userId})-[r:RATED]->(f:Film)-[:HAS_GENRE]->(g:Genre)
-                WHERE r.score >= 7
-                WITH g, count(*) as genreCount
-                ORDER BY genreCount DESC
-                LIMIT 5
-                MATCH (recommended:Film)-[:HAS_GENRE]->(g)
-                WHERE NOT EXISTS {
-                    MATCH (u:User {id: $userId})-[:WATCHED]->(recommended)
-                }
-                AND NOT EXISTS {
-                    MATCH (u:User {id: $userId})-[:RATED]->(recommended)
-                }
-                WITH DISTINCT recommended, count(g) as matchingGenres
-                ORDER BY matchingGenres DESC, recommended.popularity DESC
-                LIMIT $limit
-                OPTIONAL MATCH (recommended)-[:HAS_GENRE]->(allGenres:Genre)
-                RETURN recommended as f, collect(allGenres) as genres
-                """;
-
-            Result result = session.run(query, Values.parameters(
-                    "userId", userId,
-                    "limit", limit
-            ));
-
-            while (result.hasNext()) {
-                recommendations.add(mapRecordToFilm(result.next()));
+        // Find films with similar genres to highly rated films
+        String query = """
+            MATCH (u:User {id: $userId})-[r:RATED]->(f:Film)-[:HAS_GENRE]->(g:Genre)
+            WHERE r.score >= 7
+            WITH g, count(*) as genreCount
+            ORDER BY genreCount DESC
+            LIMIT 5
+            MATCH (recommended:Film)-[:HAS_GENRE]->(g)
+            WHERE NOT EXISTS {
+                MATCH (u:User {id: $userId})-[:WATCHED]->(recommended)
             }
-        }
+            AND NOT EXISTS {
+                MATCH (u:User {id: $userId})-[:RATED]->(recommended)
+            }
+            WITH DISTINCT recommended, count(g) as matchingGenres
+            ORDER BY matchingGenres DESC, recommended.popularity DESC
+            LIMIT $limit
+            OPTIONAL MATCH (recommended)-[:HAS_GENRE]->(allGenres:Genre)
+            RETURN recommended as f, collect(allGenres) as genres
+            """;
+
+        List<Film> recommendations = queries.list("recommendation.byHighRatings", query, Values.parameters(
+                "userId", userId,
+                "limit", limit
+        ), this::mapRecordToFilm);
 
         return recommendations;
     }
@@ -164,43 +171,35 @@ public class RecommendationService {
             return List.of();
         }
 
-        List<Film> recommendations = new ArrayList<>();
-
-        try (Session session = driver.session()) {
-            String query = """
-                // Find users who rated the same films similarly
-                MATCH (u:User {id: $userId})-[r1:RATED]->(f:Film)<-[r2:RATED]-(other:User)
-                WHERE abs(r1.score - r2.score) <= 2 AND u <> other
-                WITH other, count(f) as commonFilms, avg(abs(r1.score - r2.score)) as avgDiff
-                WHERE commonFilms >= 2
-                ORDER BY commonFilms DESC, avgDiff ASC
-                LIMIT 10
-                
-                // Get films that similar users liked but current user hasn't seen
-                MATCH (other)-[r:RATED]->(recommended:Film)
-                WHERE r.score >= 7
-                AND NOT EXISTS {
-                    MATCH (u:User {id: $userId})-[:WATCHED]->(recommended)
-                }
-                AND NOT EXISTS {
-                    MATCH (u:User {id: $userId})-[:RATED]->(recommended)
-                }
-                WITH DISTINCT recommended, avg(r.score) as avgScore, count(*) as ratingCount
-                ORDER BY avgScore DESC, ratingCount DESC
-                LIMIT $limit
-                OPTIONAL MATCH (recommended)-[:HAS_GENRE]->(g:Genre)
-                RETURN recommended as f, collect(g) as genres
-                """;
-
-            Result result = session.run(query, Values.parameters(
-                    "userId", userId,
-                    "limit", limit
-            ));
-
-            while (result.hasNext()) {
-                recommendations.add(mapRecordToFilm(result.next()));
+        String query = """
+            // Find users who rated the same films similarly
+            MATCH (u:User {id: $userId})-[r1:RATED]->(f:Film)<-[r2:RATED]-(other:User)
+            WHERE abs(r1.score - r2.score) <= 2 AND u <> other
+            WITH other, count(f) as commonFilms, avg(abs(r1.score - r2.score)) as avgDiff
+            WHERE commonFilms >= 2
+            ORDER BY commonFilms DESC, avgDiff ASC
+            LIMIT 10
+            
+            // Get films that similar users liked but current user hasn't seen
+            MATCH (other)-[r:RATED]->(recommended:Film)
+            WHERE r.score >= 7
+            AND NOT EXISTS {
+                MATCH (u:User {id: $userId})-[:WATCHED]->(recommended)
             }
-        }
+            AND NOT EXISTS {
+                MATCH (u:User {id: $userId})-[:RATED]->(recommended)
+            }
+            WITH DISTINCT recommended, avg(r.score) as avgScore, count(*) as ratingCount
+            ORDER BY avgScore DESC, ratingCount DESC
+            LIMIT $limit
+            OPTIONAL MATCH (recommended)-[:HAS_GENRE]->(g:Genre)
+            RETURN recommended as f, collect(g) as genres
+            """;
+
+        List<Film> recommendations = queries.list("recommendation.collaborative", query, Values.parameters(
+                "userId", userId,
+                "limit", limit
+        ), this::mapRecordToFilm);
 
         return recommendations;
     }
@@ -211,28 +210,25 @@ public class RecommendationService {
      * Get films similar to a specific film (same genres)
      */
     public List<Film> getSimilarFilms(long filmId, int limit) {
-        List<Film> similarFilms = new ArrayList<>();
-
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (f:Film {id: $filmId})-[:HAS_GENRE]->(g:Genre)<-[:HAS_GENRE]-(similar:Film)
-                WHERE similar.id <> $filmId
-                WITH similar, count(g) as commonGenres
-                ORDER BY commonGenres DESC, similar.popularity DESC
-                LIMIT $limit
-                OPTIONAL MATCH (similar)-[:HAS_GENRE]->(allGenres:Genre)
-                RETURN similar as f, collect(allGenres) as genres
-                """;
-
-            Result result = session.run(query, Values.parameters(
-                    "filmId", filmId,
-                    "limit", limit
-            ));
-
-            while (result.hasNext()) {
-                similarFilms.add(mapRecordToFilm(result.next()));
-            }
+        // Genre overlap computed on the in-memory bitmasks when the catalog is loaded
+        Optional<List<Film>> local = filmRepository.findSimilarLocally(filmId, Set.of(), limit);
+        if (local.isPresent()) {
+            return local.get();
         }
+        String query = """
+            MATCH (f:Film {id: $filmId})-[:HAS_GENRE]->(g:Genre)<-[:HAS_GENRE]-(similar:Film)
+            WHERE similar.id <> $filmId
+            WITH similar, count(g) as commonGenres
+            ORDER BY commonGenres DESC, similar.popularity DESC
+            LIMIT $limit
+            OPTIONAL MATCH (similar)-[:HAS_GENRE]->(allGenres:Genre)
+            RETURN similar as f, collect(allGenres) as genres
+            """;
+
+        List<Film> similarFilms = queries.list("recommendation.similar", query, Values.parameters(
+                "filmId", filmId,
+                "limit", limit
+        ), this::mapRecordToFilm);
 
         return similarFilms;
     }
@@ -244,33 +240,29 @@ public class RecommendationService {
         if (userId == null || userId.trim().isEmpty()) {
             return getSimilarFilms(filmId, limit);
         }
+        Optional<List<Film>> local = filmRepository.findSimilarLocally(filmId, getWatchedFilmIds(userId), limit);
+        if (local.isPresent()) {
+            return local.get();
+        }
 
-        List<Film> similarFilms = new ArrayList<>();
-
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (f:Film {id: $filmId})-[:HAS_GENRE]->(g:Genre)<-[:HAS_GENRE]-(similar:Film)
-                WHERE similar.id <> $filmId
-                AND NOT EXISTS {
-                    MATCH (u:User {id: $userId})-[:WATCHED]->(similar)
-                }
-                WITH similar, count(g) as commonGenres
-                ORDER BY commonGenres DESC, similar.popularity DESC
-                LIMIT $limit
-                OPTIONAL MATCH (similar)-[:HAS_GENRE]->(allGenres:Genre)
-                RETURN similar as f, collect(allGenres) as genres
-                """;
-
-            Result result = session.run(query, Values.parameters(
-                    "filmId", filmId,
-                    "userId", userId,
-                    "limit", limit
-            ));
-
-            while (result.hasNext()) {
-                similarFilms.add(mapRecordToFilm(result.next()));
+        String query = """
+            MATCH (f:Film {id: $filmId})-[:HAS_GENRE]->(g:Genre)<-[:HAS_GENRE]-(similar:Film)
+            WHERE similar.id <> $filmId
+            AND NOT EXISTS {
+                MATCH (u:User {id: $userId})-[:WATCHED]->(similar)
             }
-        }
+            WITH similar, count(g) as commonGenres
+            ORDER BY commonGenres DESC, similar.popularity DESC
+            LIMIT $limit
+            OPTIONAL MATCH (similar)-[:HAS_GENRE]->(allGenres:Genre)
+            RETURN similar as f, collect(allGenres) as genres
+            """;
+
+        List<Film> similarFilms = queries.list("recommendation.similarUnwatched", query, Values.parameters(
+                "filmId", filmId,
+                "userId", userId,
+                "limit", limit
+        ), this::mapRecordToFilm);
 
         return similarFilms;
     }
@@ -281,25 +273,17 @@ public class RecommendationService {
      * Get trending films (highly rated by many users recently)
      */
     public List<Film> getTrendingFilms(int limit) {
-        List<Film> trending = new ArrayList<>();
-
-        try (Session session = driver.session()) {
-            String query = """
-                MATCH (f:Film)<-[r:RATED]-(:User)
-                WITH f, avg(r.score) as avgRating, count(r) as ratingCount
-                WHERE ratingCount >= 3
-                ORDER BY avgRating DESC, ratingCount DESC
-                LIMIT $limit
-                OPTIONAL MATCH (f)-[:HAS_GENRE]->(g:Genre)
-                RETURN f, collect(g) as genres
-                """;
-
-            Result result = session.run(query, Values.parameters("limit", limit));
-
-            while (result.hasNext()) {
-                trending.add(mapRecordToFilm(result.next()));
-            }
-        }
+        String query = """
+            MATCH (f:Film)<-[r:RATED]-(:User)
+            WITH f, avg(r.score) as avgRating, count(r) as ratingCount
+            WHERE ratingCount >= 3
+            ORDER BY avgRating DESC, ratingCount DESC
+            LIMIT $limit
+            OPTIONAL MATCH (f)-[:HAS_GENRE]->(g:Genre)
+            RETURN f, collect(g) as genres
+            """;
+
+        List<Film> trending = queries.list("recommendation.trending", query, Values.parameters("limit", limit), this::mapRecordToFilm);
 
         // If not enough trending films in DB, get popular from TMDB
         if (trending.size() < limit) {
@@ -390,15 +374,9 @@ public class RecommendationService {
      * Get set of film IDs that user has watched
      */
     private Set<Long> getWatchedFilmIds(String userId) {
-        Set<Long> watchedIds = new HashSet<>();
-        try (Session session = driver.session()) {
-            String query = "MATCH (u:User {id: $userId})-[:WATCHED]->(f:Film) RETURN f.id as id";
-            Result result = session.run(query, Values.parameters("userId", userId));
-            while (result.hasNext()) {
-                watchedIds.add(result.next().get("id").asLong());
-            }
-        }
-        return watchedIds;
+        String query = "MATCH (u:User {id: $userId})-[:WATCHED]->(f:Film) RETURN f.id as id";
+        return new HashSet<>(queries.list("recommendation.watchedIds", query, Values.parameters("userId", userId),
+                record -> record.get("id").asLong()));
     }
 
     /**
@@ -0,0 +1,194 @@
+package service;
+
+import model.Film;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-memory title search over the films the application already knows (seen on TMDB or stored in Neo4j).
+ * Titles are indexed by word prefix (for 1-2 letter words) and by trigram (for longer ones),
+ * so each keystroke of a search can be answered locally before TMDB replies.
+ * Results of a query are cached and reused when the user keeps typing: "star w" only
+ * re-checks the matches of "star", plus the films indexed since.
+ */
+public class TitleIndex {
+    private static final int CACHE_SIZE = 256;
+
+    private final Map<Long, Film> films = new HashMap<>();
+    private final Map<Long, String> titles = new HashMap<>();
+    private final Map<String, Set<Long>> trigrams = new HashMap<>();
+    private final NavigableMap<String, Set<Long>> words = new TreeMap<>();
+    // Ids in indexing order; a cached result stays valid if the ids added after it are checked too
+    private final List<Long> added = new ArrayList<>();
+    private final Map<String, CachedResult> cache = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    // All matches of a query (unlimited) and the index size when they were computed
+    private record CachedResult(List<Long> ids, int addedCount) {}
+
+    /**
+     * Add or update films; films without a title are ignored
+     */
+    public synchronized void addAll(List<Film> newFilms) {
+        for (Film film : newFilms) {
+            if (film == null || film.getTitle() == null || film.getTitle().isBlank()) continue;
+            long id = film.getId();
+            String title = normalize(film.getTitle());
+            String previous = titles.put(id, title);
+            films.put(id, film);
+            if (title.equals(previous)) continue;
+            if (previous != null) unindex(id, previous);
+            index(id, title);
+            added.add(id);
+        }
+    }
+
+    public synchronized int size() {
+        return films.size();
+    }
+
+    /**
+     * Films whose title contains every word of the query (as a word prefix for short words),
+     * titles starting with the query first, then by popularity
+     */
+    public synchronized List<Film> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) return List.of();
+
+        List<Long> ids = matches(normalized);
+        cache.put(normalized, new CachedResult(ids, added.size()));
+
+        List<Film> results = new ArrayList<>(ids.size());
+        for (long id : ids) {
+            results.add(films.get(id));
+        }
+        results.sort(Comparator.comparing((Film film) -> !titles.get(film.getId()).startsWith(normalized))
+                .thenComparing(Comparator.comparingDouble(Film::getPopularity).reversed()));
+        return results.size() > limit ? new ArrayList<>(results.subList(0, limit)) : results;
+    }
+
+    private List<Long> matches(String query) {
+        String[] tokens = query.split(" ");
+        CachedResult base = cachedPrefix(query);
+        if (base != null) {
+            // Refinement of an earlier query: its matches plus what was indexed since
+            Set<Long> candidates = new HashSet<>(base.ids());
+            candidates.addAll(added.subList(base.addedCount(), added.size()));
+            return verify(candidates, tokens);
+        }
+
+        Set<Long> candidates = null;
+        for (String token : tokens) {
+            Set<Long> tokenIds = token.length() < 3 ? byWordPrefix(token) : byTrigrams(token);
+            if (candidates == null) {
+                candidates = tokenIds;
+            } else {
+                candidates.retainAll(tokenIds);
+            }
+            if (candidates.isEmpty()) break;
+        }
+        return verify(candidates, tokens);
+    }
+
+    // Longest cached query whose matches include all the matches of this one
+    private CachedResult cachedPrefix(String query) {
+        String[] tokens = query.split(" ");
+        for (int end = query.length(); end > 0; end--) {
+            String prefix = query.substring(0, end);
+            CachedResult cached = cache.get(prefix);
+            if (cached == null) continue;
+            // A short word prefix ("st") does not cover a longer substring match ("sta" in "mustang")
+            String[] prefixTokens = prefix.split(" ");
+            String last = prefixTokens[prefixTokens.length - 1];
+            if (last.length() >= 3 || tokens[prefixTokens.length - 1].length() < 3) return cached;
+        }
+        return null;
+    }
+
+    // Trigrams only narrow the candidates; check the actual title
+    private List<Long> verify(Set<Long> candidates, String[] tokens) {
+        List<Long> ids = new ArrayList<>();
+        for (long id : candidates) {
+            String title = titles.get(id);
+            if (title != null && matchesAll(title, tokens)) ids.add(id);
+        }
+        return ids;
+    }
+
+    private static boolean matchesAll(String title, String[] tokens) {
+        for (String token : tokens) {
+            if (token.length() < 3 ? !hasWordStartingWith(title, token) : !title.contains(token)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasWordStartingWith(String title, String prefix) {
+        return title.startsWith(prefix) || title.contains(" " + prefix);
+    }
+
+    private Set<Long> byWordPrefix(String prefix) {
+        Set<Long> ids = new HashSet<>();
+        for (Set<Long> wordIds : words.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            ids.addAll(wordIds);
+        }
+        return ids;
+    }
+
+    private Set<Long> byTrigrams(String token) {
+        Set<Long> ids = null;
+        for (int i = 0; i + 3 <= token.length(); i++) {
+            Set<Long> gramIds = trigrams.get(token.substring(i, i + 3));
+            if (gramIds == null) return new HashSet<>();
+            if (ids == null) {
+                ids = new HashSet<>(gramIds);
+            } else {
+                ids.retainAll(gramIds);
+            }
+        }
+        return ids;
+    }
+
+    private void index(long id, String title) {
+        for (String word : title.split(" ")) {
+            if (!word.isEmpty()) words.computeIfAbsent(word, w -> new HashSet<>()).add(id);
+        }
+        for (int i = 0; i + 3 <= title.length(); i++) {
+            trigrams.computeIfAbsent(title.substring(i, i + 3), g -> new HashSet<>()).add(id);
+        }
+    }
+
+    private void unindex(long id, String title) {
+        for (String word : title.split(" ")) {
+            Set<Long> ids = words.get(word);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) words.remove(word);
+        }
+        for (int i = 0; i + 3 <= title.length(); i++) {
+            String gram = title.substring(i, i + 3);
+            Set<Long> ids = trigrams.get(gram);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) trigrams.remove(gram);
+        }
+    }
+
+    // Lower case, no accents, punctuation replaced by single spaces ("L'Été" -> "l ete")
+    static String normalize(String text) {
+        String stripped = Normalizer.normalize(text.toLowerCase(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "");
+        return stripped.replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+}
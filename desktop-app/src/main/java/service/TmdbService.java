@@ -5,37 +5,57 @@ import model.Acteur;
 import model.Film;
 import model.Genre;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLEncoder;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.GZIPInputStream;
 
 public class TmdbService {
     private final String apiKey;
     private final String baseUrl;
-    private static Map<Integer, String> genreCache; // Static cache shared across instances
+    // TMDB locale of every request made by this instance (titles, overviews, genre names)
+    private final String language;
+    // Locale used when a text is missing in the requested one
+    private final String fallbackLanguage;
     
-    // Movie cache with expiration for faster repeated lookups
-    private static final Map<Long, CachedFilm> movieCache = new ConcurrentHashMap<>();
+    // Movie cache with expiration for faster repeated lookups, keyed by locale and movie id
+    private static final Map<String, CachedFilm> movieCache = new ConcurrentHashMap<>();
     private static final long CACHE_DURATION_MS = 30 * 60 * 1000; // 30 minutes
     
-    // Movie list cache for popular/top-rated pages
+    // Movie list cache for popular/top-rated pages, keyed by locale and page
     private static final Map<String, CachedList> listCache = new ConcurrentHashMap<>();
     private static final long LIST_CACHE_DURATION_MS = 10 * 60 * 1000; // 10 minutes
     
-    // ExecutorService for parallel requests
-    private static final ExecutorService executor = Executors.newFixedThreadPool(5);
+    // ExecutorService for parallel requests (daemon threads so they never keep the JVM alive)
+    private static final AtomicInteger threadCounter = new AtomicInteger();
+    private static final ExecutorService executor = Executors.newFixedThreadPool(5, runnable -> {
+        Thread thread = new Thread(runnable, "tmdb-" + threadCounter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
     
     // Cache wrapper with timestamp for individual movies
-    private static class CachedFilm {
+    private static class CachedFilm implements Serializable {
+        private static final long serialVersionUID = 1L;
         final Film film;
         final long timestamp;
         
@@ -50,7 +70,8 @@ public class TmdbService {
     }
     
     // Cache wrapper for movie lists
-    private static class CachedList {
+    private static class CachedList implements Serializable {
+        private static final long serialVersionUID = 1L;
         final List<Film> films;
         final long timestamp;
         
@@ -65,33 +86,72 @@ public class TmdbService {
     }
 
     public TmdbService() {
+        this(getDefaultLanguage());
+    }
+
+    public TmdbService(String language) {
         this.apiKey = Neo4jConfig.getProperty("tmdb.api.key", "22c0aa4a342097dd598f010fd52eb22c");
         this.baseUrl = Neo4jConfig.getProperty("tmdb.base.url", "https://api.themoviedb.org/3");
+        this.language = language;
+        this.fallbackLanguage = Neo4jConfig.getProperty("tmdb.fallback.language", "en-US");
+    }
+
+    public static String getDefaultLanguage() {
+        return Neo4jConfig.getProperty("tmdb.language", "fr-FR");
+    }
+
+    /**
+     * Same service for another locale; caches are shared but partitioned by locale
+     */
+    public TmdbService forLanguage(String otherLanguage) {
+        return language.equals(otherLanguage) ? this : new TmdbService(otherLanguage);
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    private String apiUrl(String path) {
+        return apiUrl(path, language);
+    }
+
+    private String apiUrl(String path, String locale) {
+        return baseUrl + path + "?api_key=" + apiKey + "&language=" + locale;
+    }
+
+    // Cache key of a list or a movie in this instance's locale
+    private String cacheKey(Object key) {
+        return language + ":" + key;
+    }
+
+    private boolean hasFallback() {
+        return !language.equals(fallbackLanguage);
     }
 
     /**
-     * Get genre map (ID -> Name) from TMDB, cached for performance
+     * Get genre map (ID -> Name), served by the shared GenreDictionary
      */
     public Map<Integer, String> getGenreMap() {
-        if (genreCache != null && !genreCache.isEmpty()) {
-            return genreCache;
-        }
-        
-        genreCache = new HashMap<>();
-        String url = baseUrl + "/genre/movie/list?api_key=" + apiKey + "&language=fr-FR";
+        return GenreDictionary.forLanguage(language).ensureLoaded().asMap();
+    }
+
+    // Raw TMDB genre list; GenreDictionary decides when to call it
+    Map<Integer, String> fetchGenreMap() {
+        Map<Integer, String> genres = new HashMap<>();
+        String url = apiUrl("/genre/movie/list");
         
         try {
             String json = fetchJson(url);
-            if (json == null) return genreCache;
+            if (json == null) return genres;
             
             // Parse the genres array directly
             String searchKey = "\"genres\":[";
             int keyIndex = json.indexOf(searchKey);
-            if (keyIndex == -1) return genreCache;
+            if (keyIndex == -1) return genres;
 
             int arrayStart = keyIndex + searchKey.length();
             int arrayEnd = json.indexOf(']', arrayStart);
-            if (arrayEnd == -1) return genreCache;
+            if (arrayEnd == -1) return genres;
 
             String genresArrayContent = json.substring(arrayStart, arrayEnd);
             
@@ -134,36 +194,36 @@ public class TmdbService {
                 }
                 
                 if (id > 0 && name != null && !name.isEmpty()) {
-                    genreCache.put(id, name);
+                    genres.put(id, name);
                 }
             }
             
-            System.out.println("Loaded " + genreCache.size() + " genres into cache");
+            System.out.println("Loaded " + genres.size() + " genres into cache");
             
         } catch (Exception e) {
             e.printStackTrace();
         }
         
-        return genreCache;
+        return genres;
     }
 
     /**
      * Clear the genre cache (useful for testing or refreshing)
      */
     public static void clearGenreCache() {
-        genreCache = null;
+        GenreDictionary.clearAll();
     }
 
     // Get popular movies (with caching)
     public List<Film> getPopularMovies(int page) {
-        String cacheKey = "popular_" + page;
+        String cacheKey = cacheKey("popular_" + page);
         CachedList cached = listCache.get(cacheKey);
         if (cached != null && !cached.isExpired()) {
             System.out.println("[Cache hit] Popular movies page " + page);
             return new ArrayList<>(cached.films);
         }
         
-        String url = baseUrl + "/movie/popular?api_key=" + apiKey + "&language=fr-FR&page=" + page;
+        String url = apiUrl("/movie/popular") + "&page=" + page;
         List<Film> films = fetchMovieList(url);
         
         if (!films.isEmpty()) {
@@ -174,14 +234,14 @@ public class TmdbService {
 
     // Get top rated movies (with caching)
     public List<Film> getTopRatedMovies(int page) {
-        String cacheKey = "toprated_" + page;
+        String cacheKey = cacheKey("toprated_" + page);
         CachedList cached = listCache.get(cacheKey);
         if (cached != null && !cached.isExpired()) {
             System.out.println("[Cache hit] Top rated movies page " + page);
             return new ArrayList<>(cached.films);
         }
         
-        String url = baseUrl + "/movie/top_rated?api_key=" + apiKey + "&language=fr-FR&page=" + page;
+        String url = apiUrl("/movie/top_rated") + "&page=" + page;
         List<Film> films = fetchMovieList(url);
         
         if (!films.isEmpty()) {
@@ -194,7 +254,7 @@ public class TmdbService {
     public List<Film> searchMovies(String query, int page) {
         try {
             String encodedQuery = URLEncoder.encode(query, "UTF-8");
-            String url = baseUrl + "/search/movie?api_key=" + apiKey + "&language=fr-FR&query=" + encodedQuery + "&page=" + page;
+            String url = apiUrl("/search/movie") + "&query=" + encodedQuery + "&page=" + page;
             return fetchMovieList(url);
         } catch (Exception e) {
             e.printStackTrace();
@@ -209,7 +269,7 @@ public class TmdbService {
             if (i > 0) genres.append(",");
             genres.append(genreIds.get(i));
         }
-        String url = baseUrl + "/discover/movie?api_key=" + apiKey + "&language=fr-FR&sort_by=popularity.desc&with_genres=" + genres.toString() + "&page=" + page;
+        String url = apiUrl("/discover/movie") + "&sort_by=popularity.desc&with_genres=" + genres.toString() + "&page=" + page;
         return fetchMovieList(url);
     }
 
@@ -298,12 +358,17 @@ public class TmdbService {
             film.setVoteCount(extractInt(json, "vote_count"));
             film.setPopularity(extractDouble(json, "popularity"));
 
-            // Load genre names from cache
-            Map<Integer, String> genreMap = getGenreMap();
+            if (film.getOverview() == null || film.getOverview().isEmpty()) {
+                String fallbackOverview = cachedFallbackOverview(film.getId());
+                if (fallbackOverview != null) film.setOverview(fallbackOverview);
+            }
+
+            // Genre names from this locale's dictionary (array lookup, no locking)
+            GenreDictionary genreNames = GenreDictionary.forLanguage(language).ensureLoaded();
             
             List<Integer> genreIds = extractIntArray(json, "genre_ids");
             for (int genreId : genreIds) {
-                String genreName = genreMap.getOrDefault(genreId, "Unknown");
+                String genreName = genreNames.nameOrDefault(genreId, "Unknown");
                 film.getGenres().add(new Genre(genreId, genreName));
             }
 
@@ -461,25 +526,42 @@ public class TmdbService {
      */
     public Film getMovieDetails(long movieId) {
         // Check cache first
-        CachedFilm cached = movieCache.get(movieId);
+        CachedFilm cached = movieCache.get(cacheKey(movieId));
         if (cached != null && !cached.isExpired()) {
             System.out.println("[Cache hit] Movie " + movieId);
             return cached.film;
         }
         
-        String url = baseUrl + "/movie/" + movieId + "?api_key=" + apiKey + "&language=fr-FR";
+        String url = apiUrl("/movie/" + movieId);
         String json = fetchJson(url);
         if (json == null) return null;
 
         Film film = parseMovieDetails(json);
         
+        // Untranslated overview: take the fallback locale's (cached under its own key)
+        if (film != null && (film.getOverview() == null || film.getOverview().isEmpty()) && hasFallback()) {
+            Film fallback = forLanguage(fallbackLanguage).getMovieDetails(movieId);
+            if (fallback != null) {
+                film.setOverview(fallback.getOverview());
+            }
+        }
+
         // Cache the result
         if (film != null) {
-            movieCache.put(movieId, new CachedFilm(film));
+            movieCache.put(cacheKey(movieId), new CachedFilm(film));
         }
         
         return film;
     }
+
+    // Overview already fetched in the fallback locale, without making a request (list results)
+    private String cachedFallbackOverview(long movieId) {
+        if (!hasFallback()) return null;
+        CachedFilm cached = movieCache.get(fallbackLanguage + ":" + movieId);
+        if (cached == null || cached.isExpired()) return null;
+        String overview = cached.film.getOverview();
+        return overview == null || overview.isEmpty() ? null : overview;
+    }
     
     /**
      * Fetch multiple movies in parallel (useful for batch operations)
@@ -510,7 +592,7 @@ public class TmdbService {
      * Clear all caches (useful for testing or forced refresh)
      */
     public static void clearAllCaches() {
-        genreCache = null;
+        GenreDictionary.clearAll();
         movieCache.clear();
         listCache.clear();
         System.out.println("All TMDB caches cleared");
@@ -524,6 +606,71 @@ public class TmdbService {
         listCache.entrySet().removeIf(entry -> entry.getValue().isExpired());
     }
 
+    // ==================== CACHE PERSISTENCE ====================
+
+    // Everything worth keeping across restarts, written as one file
+    private static class CacheSnapshot implements Serializable {
+        // 2: caches partitioned by locale
+        private static final long serialVersionUID = 2L;
+        final HashMap<String, HashMap<Integer, String>> genres;
+        final HashMap<String, CachedFilm> movies;
+        final HashMap<String, CachedList> lists;
+
+        CacheSnapshot(Map<String, Map<Integer, String>> genres, Map<String, CachedFilm> movies, Map<String, CachedList> lists) {
+            this.genres = new HashMap<>();
+            genres.forEach((locale, names) -> this.genres.put(locale, new HashMap<>(names)));
+            this.movies = new HashMap<>(movies);
+            this.lists = new HashMap<>(lists);
+        }
+    }
+
+    /**
+     * Save the non-expired caches so the next start does not refetch them
+     */
+    public static void persistCaches(Path file) {
+        cleanupExpiredCaches();
+        CacheSnapshot snapshot = new CacheSnapshot(GenreDictionary.loadedSnapshots(), movieCache, listCache);
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), "tmdb", ".part");
+            try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeObject(snapshot);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            System.out.println("Persisted TMDB cache: " + snapshot.movies.size() + " movies, " + snapshot.lists.size() + " lists");
+        } catch (IOException e) {
+            System.err.println("Could not persist TMDB cache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reload caches saved by a previous run; entries keep their original age and expire as usual
+     */
+    public static void restoreCaches(Path file) {
+        if (!Files.isRegularFile(file)) return;
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            CacheSnapshot snapshot = (CacheSnapshot) in.readObject();
+            snapshot.genres.forEach((locale, names) -> {
+                GenreDictionary genres = GenreDictionary.forLanguage(locale);
+                if (!names.isEmpty() && !genres.isLoaded()) {
+                    // Used until the background refresh reaches TMDB
+                    genres.publish(names, "disk");
+                }
+            });
+            snapshot.movies.forEach(movieCache::putIfAbsent);
+            snapshot.lists.forEach(listCache::putIfAbsent);
+            cleanupExpiredCaches();
+            System.out.println("Restored TMDB cache: " + movieCache.size() + " movies, " + listCache.size() + " lists");
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            // Unreadable or from an older version: start empty
+            System.err.println("Ignoring TMDB cache file: " + e.getMessage());
+        }
+    }
+
     /**
      * Parse movie details (includes full genre objects, not just IDs)
      */
@@ -611,12 +758,9 @@ public class TmdbService {
      */
     public List<Genre> getAllGenres() {
         List<Genre> genres = new ArrayList<>();
-        Map<Integer, String> genreMap = getGenreMap();
-        
-        for (Map.Entry<Integer, String> entry : genreMap.entrySet()) {
+        for (Map.Entry<Integer, String> entry : getGenreMap().entrySet()) {
             genres.add(new Genre(entry.getKey(), entry.getValue()));
         }
-        
         return genres;
     }
 
@@ -626,7 +770,7 @@ public class TmdbService {
      * Get similar movies from TMDB
      */
     public List<Film> getSimilarMovies(long movieId, int page) {
-        String url = baseUrl + "/movie/" + movieId + "/similar?api_key=" + apiKey + "&language=fr-FR&page=" + page;
+        String url = apiUrl("/movie/" + movieId + "/similar") + "&page=" + page;
         return fetchMovieList(url);
     }
 
@@ -634,7 +778,7 @@ public class TmdbService {
      * Get movie recommendations from TMDB (based on the movie)
      */
     public List<Film> getMovieRecommendations(long movieId, int page) {
-        String url = baseUrl + "/movie/" + movieId + "/recommendations?api_key=" + apiKey + "&language=fr-FR&page=" + page;
+        String url = apiUrl("/movie/" + movieId + "/recommendations") + "&page=" + page;
         return fetchMovieList(url);
     }
 
@@ -644,7 +788,7 @@ public class TmdbService {
      * Get now playing movies
      */
     public List<Film> getNowPlayingMovies(int page) {
-        String url = baseUrl + "/movie/now_playing?api_key=" + apiKey + "&language=fr-FR&page=" + page;
+        String url = apiUrl("/movie/now_playing") + "&page=" + page;
         return fetchMovieList(url);
     }
 
@@ -652,7 +796,7 @@ public class TmdbService {
      * Get upcoming movies
      */
     public List<Film> getUpcomingMovies(int page) {
-        String url = baseUrl + "/movie/upcoming?api_key=" + apiKey + "&language=fr-FR&page=" + page;
+        String url = apiUrl("/movie/upcoming") + "&page=" + page;
         return fetchMovieList(url);
     }
 
@@ -670,7 +814,7 @@ public class TmdbService {
      */
     public List<Acteur> getMovieCast(long movieId, int limit) {
         List<Acteur> cast = new ArrayList<>();
-        String url = baseUrl + "/movie/" + movieId + "/credits?api_key=" + apiKey + "&language=fr-FR";
+        String url = apiUrl("/movie/" + movieId + "/credits");
         
         try {
             String json = fetchJson(url);
@@ -721,7 +865,7 @@ public class TmdbService {
      * Get actor details
      */
     public Acteur getActorDetails(long actorId) {
-        String url = baseUrl + "/person/" + actorId + "?api_key=" + apiKey + "&language=fr-FR";
+        String url = apiUrl("/person/" + actorId);
         
         try {
             String json = fetchJson(url);
@@ -732,6 +876,12 @@ public class TmdbService {
             acteur.setName(extractString(json, "name"));
             acteur.setProfilePath(extractString(json, "profile_path"));
             acteur.setBiography(extractString(json, "biography"));
+            if ((acteur.getBiography() == null || acteur.getBiography().isEmpty()) && hasFallback()) {
+                String fallbackJson = fetchJson(apiUrl("/person/" + actorId, fallbackLanguage));
+                if (fallbackJson != null) {
+                    acteur.setBiography(extractString(fallbackJson, "biography"));
+                }
+            }
             acteur.setBirthday(extractString(json, "birthday"));
             acteur.setPlaceOfBirth(extractString(json, "place_of_birth"));
             acteur.setPopularity(extractDouble(json, "popularity"));
@@ -748,7 +898,7 @@ public class TmdbService {
      */
     public List<Film> getActorMovies(long actorId, int limit) {
         List<Film> films = new ArrayList<>();
-        String url = baseUrl + "/person/" + actorId + "/movie_credits?api_key=" + apiKey + "&language=fr-FR";
+        String url = apiUrl("/person/" + actorId + "/movie_credits");
         
         try {
             String json = fetchJson(url);
@@ -792,7 +942,7 @@ public class TmdbService {
      * Get movie director from credits
      */
     public Acteur getMovieDirector(long movieId) {
-        String url = baseUrl + "/movie/" + movieId + "/credits?api_key=" + apiKey + "&language=fr-FR";
+        String url = apiUrl("/movie/" + movieId + "/credits");
         
         try {
             String json = fetchJson(url);
@@ -828,7 +978,7 @@ public class TmdbService {
      */
     public List<Film> getDirectorMovies(long personId, int limit) {
         List<Film> films = new ArrayList<>();
-        String url = baseUrl + "/person/" + personId + "/movie_credits?api_key=" + apiKey + "&language=fr-FR";
+        String url = apiUrl("/person/" + personId + "/movie_credits");
         
         try {
             String json = fetchJson(url);
@@ -869,6 +1019,21 @@ public class TmdbService {
         return films;
     }
 
+    /**
+     * Stop the shared request pool, letting running requests finish briefly
+     */
+    public static void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(2, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
     // ==================== IMAGE URLS ====================
 
     /**
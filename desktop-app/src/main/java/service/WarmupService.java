@@ -0,0 +1,128 @@
+package service;
+
+import model.Film;
+import model.User;
+import repository.QueryExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Loads what the first screens need before they are shown.
+ * While the login screen is visible: Neo4j connections, the TMDB genre map, popular page 1,
+ * the in-memory film catalog and the local title index used by search-as-you-type.
+ * Right after login: the user's list memberships and their first page of recommendations,
+ * which the dashboard picks up instead of computing them cold.
+ */
+public class WarmupService {
+    // Connections opened in advance, so the first parallel queries do not each pay a handshake
+    private static final int WARM_CONNECTIONS = 3;
+    private static final int RECOMMENDATION_COUNT = 20;
+
+    private final QueryExecutor queries;
+    private final TmdbService tmdbService;
+    private final FilmService filmService;
+    private final RecommendationService recommendationService;
+    private final ExecutorService pool;
+
+    private volatile CompletableFuture<Void> appWarmup;
+    private volatile UserWarmup userWarmup;
+
+    private record UserWarmup(String userId, CompletableFuture<List<Film>> recommendations) {}
+
+    public WarmupService(QueryExecutor queries, TmdbService tmdbService, FilmService filmService,
+                         RecommendationService recommendationService) {
+        this.queries = queries;
+        this.tmdbService = tmdbService;
+        this.filmService = filmService;
+        this.recommendationService = recommendationService;
+        AtomicInteger counter = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "warmup-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Warm shared resources; runs once per application start (again only if it failed)
+     */
+    public synchronized CompletableFuture<Void> warmUpApp() {
+        CompletableFuture<Void> current = appWarmup;
+        if (current != null && !current.isCompletedExceptionally()) {
+            return current;
+        }
+        long start = System.nanoTime();
+        List<CompletableFuture<?>> steps = new ArrayList<>();
+        for (int i = 0; i < WARM_CONNECTIONS; i++) {
+            steps.add(run("neo4j", () -> queries.single("warmup.ping", "RETURN 1 as ok", null, record -> record.get("ok").asInt())));
+        }
+        steps.add(run("genres", tmdbService::getGenreMap));
+        steps.add(run("popular", () -> tmdbService.getPopularMovies(1)));
+        steps.add(run("catalog", () -> {
+            // the title index is seeded from the catalog once it is in memory
+            filmService.loadCatalog();
+            filmService.seedTitleIndex();
+            return null;
+        }));
+
+        appWarmup = CompletableFuture.allOf(steps.toArray(new CompletableFuture<?>[0]))
+                .whenComplete((ignored, error) -> System.out.println(
+                        "[Warmup] app ready in " + (System.nanoTime() - start) / 1_000_000 + "ms"));
+        return appWarmup;
+    }
+
+    /**
+     * Start loading the user's data as soon as they are authenticated
+     */
+    public void warmUpUser(User user) {
+        String userId = user.getId();
+        long start = System.nanoTime();
+        CompletableFuture<?> library = run("library", () -> filmService.loadUserLibrary(userId));
+        CompletableFuture<List<Film>> recommendations = run("recommendations",
+                () -> recommendationService.getPersonalizedRecommendations(userId, RECOMMENDATION_COUNT));
+        userWarmup = new UserWarmup(userId, recommendations);
+
+        CompletableFuture.allOf(library, recommendations).whenComplete((ignored, error) -> System.out.println(
+                "[Warmup] user " + user.getUsername() + " ready in " + (System.nanoTime() - start) / 1_000_000 + "ms"));
+    }
+
+    /**
+     * Recommendations prepared at login, handed out once (later pages are computed normally)
+     */
+    public synchronized Optional<CompletableFuture<List<Film>>> takeRecommendations(String userId) {
+        UserWarmup warmup = userWarmup;
+        if (warmup == null || !warmup.userId().equals(userId)) {
+            return Optional.empty();
+        }
+        userWarmup = null;
+        return Optional.of(warmup.recommendations());
+    }
+
+    // Forget the previous user's data (logout)
+    public void clearUser() {
+        userWarmup = null;
+        filmService.clearUserLibrary();
+    }
+
+    // Stop warming; results are only a head start for the first screens, so steps still running are interrupted
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> run(String step, Supplier<T> work) {
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(work, pool);
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                System.err.println("[Warmup] " + step + " failed: " + error.getMessage());
+            }
+        });
+        return future;
+    }
+}
@@ -0,0 +1,79 @@
+package config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AppContext wiring and lifecycle
+ */
+class AppContextTest {
+
+    static class Repo {}
+
+    static class Service {
+        final Repo repo;
+        Service(Repo repo) { this.repo = repo; }
+    }
+
+    @Test
+    @DisplayName("get should build a lazy singleton once and share it")
+    void testLazySingleton() {
+        AppContext context = new AppContext();
+        context.register(Repo.class, c -> new Repo(), false);
+        context.register(Service.class, c -> new Service(c.get(Repo.class)), false);
+
+        assertFalse(context.isCreated(Service.class));
+        Service first = context.get(Service.class);
+        Service second = context.get(Service.class);
+
+        assertSame(first, second);
+        assertSame(context.get(Repo.class), first.repo);
+    }
+
+    @Test
+    @DisplayName("start should build eager singletons only")
+    void testEagerInit() {
+        AppContext context = new AppContext();
+        context.register(Repo.class, c -> new Repo(), true);
+        context.register(Service.class, c -> new Service(new Repo()), false);
+
+        context.start();
+
+        assertTrue(context.isCreated(Repo.class));
+        assertFalse(context.isCreated(Service.class));
+    }
+
+    @Test
+    @DisplayName("get should fail on unknown types and dependency cycles")
+    void testErrors() {
+        AppContext context = new AppContext();
+        assertThrows(IllegalArgumentException.class, () -> context.get(Repo.class));
+
+        context.register(Repo.class, c -> {
+            c.get(Service.class);
+            return new Repo();
+        }, false);
+        context.register(Service.class, c -> new Service(c.get(Repo.class)), false);
+        assertThrows(IllegalStateException.class, () -> context.get(Service.class));
+    }
+
+    @Test
+    @DisplayName("shutdown should run hooks once, last registered first")
+    void testShutdownOrder() {
+        AppContext context = new AppContext();
+        List<String> calls = new ArrayList<>();
+        context.addShutdownHook("driver", () -> calls.add("driver"));
+        context.addShutdownHook("executor", () -> calls.add("executor"));
+        context.addShutdownHook("failing", () -> { throw new IllegalStateException("boom"); });
+
+        context.shutdown();
+        context.shutdown();
+
+        assertEquals(List.of("executor", "driver"), calls);
+    }
+}
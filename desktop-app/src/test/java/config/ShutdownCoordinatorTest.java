@@ -0,0 +1,64 @@
+package config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ShutdownCoordinator phase ordering
+ */
+class ShutdownCoordinatorTest {
+
+    @Test
+    @DisplayName("shutdown should run phases in order whatever the registration order")
+    void testPhaseOrder() {
+        ShutdownCoordinator coordinator = new ShutdownCoordinator(1000);
+        List<String> calls = new ArrayList<>();
+        coordinator.register(ShutdownCoordinator.Phase.CLOSE, "driver", remaining -> calls.add("close"));
+        coordinator.register(ShutdownCoordinator.Phase.PERSIST, "cache", remaining -> calls.add("persist"));
+        coordinator.register(ShutdownCoordinator.Phase.DRAIN, "tasks", remaining -> calls.add("drain"));
+        coordinator.register(ShutdownCoordinator.Phase.FLUSH, "writes", remaining -> calls.add("flush"));
+
+        coordinator.shutdown();
+
+        assertEquals(List.of("drain", "flush", "persist", "close"), calls);
+    }
+
+    @Test
+    @DisplayName("shutdown should run only once and survive failing steps")
+    void testRunsOnceDespiteFailures() {
+        ShutdownCoordinator coordinator = new ShutdownCoordinator(1000);
+        List<String> calls = new ArrayList<>();
+        coordinator.register(ShutdownCoordinator.Phase.FLUSH, "failing", remaining -> {
+            throw new IllegalStateException("boom");
+        });
+        coordinator.register(ShutdownCoordinator.Phase.CLOSE, "driver", remaining -> calls.add("close"));
+
+        coordinator.shutdown();
+        coordinator.shutdown();
+
+        assertTrue(coordinator.isShuttingDown());
+        assertEquals(List.of("close"), calls);
+    }
+
+    @Test
+    @DisplayName("steps should receive the time left before the deadline")
+    void testRemainingBudget() {
+        ShutdownCoordinator coordinator = new ShutdownCoordinator(1000);
+        List<Long> budgets = new ArrayList<>();
+        coordinator.register(ShutdownCoordinator.Phase.DRAIN, "slow", remaining -> {
+            budgets.add(remaining);
+            Thread.sleep(50);
+        });
+        coordinator.register(ShutdownCoordinator.Phase.FLUSH, "writes", budgets::add);
+
+        coordinator.shutdown();
+
+        assertTrue(budgets.get(0) <= 1000);
+        assertTrue(budgets.get(1) <= budgets.get(0) - 50);
+    }
+}
@@ -0,0 +1,85 @@
+package config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UiTaskScheduler scopes and keyed coalescing
+ */
+class UiTaskSchedulerTest {
+
+    @Test
+    @DisplayName("a keyed task that completes at once should not be returned to later submissions")
+    void testInstantTaskReleasesKey() throws Exception {
+        UiTaskScheduler scheduler = new UiTaskScheduler(2);
+        UiTaskScheduler.TaskScope scope = scheduler.openScope("test");
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<Integer> first = scope.submit("cached", calls::incrementAndGet, null, null);
+        int firstResult = first.get(5, TimeUnit.SECONDS);
+        assertEquals(1, firstResult);
+
+        // The cleanup runs right after completion; a stale entry would keep returning 1
+        int second = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            second = scope.submit("cached", calls::incrementAndGet, null, null).get(5, TimeUnit.SECONDS);
+            if (second != 1) break;
+            Thread.sleep(10);
+        }
+        assertEquals(2, second);
+        scheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("tasks with the same key should share one run while in flight")
+    void testCoalescing() throws Exception {
+        UiTaskScheduler scheduler = new UiTaskScheduler(2);
+        UiTaskScheduler.TaskScope scope = scheduler.openScope("test");
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<Integer> first = scope.submit("films", () -> {
+            release.await();
+            return calls.incrementAndGet();
+        }, null, null);
+        CompletableFuture<Integer> second = scope.submit("films", calls::incrementAndGet, null, null);
+        release.countDown();
+
+        assertSame(first, second);
+        int result = second.get(5, TimeUnit.SECONDS);
+        assertEquals(1, result);
+        scheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("closing a scope should complete the futures of tasks that never ran")
+    void testCancelledQueuedTaskCompletes() throws Exception {
+        UiTaskScheduler scheduler = new UiTaskScheduler(1);
+        UiTaskScheduler.TaskScope scope = scheduler.openScope("test");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        scope.submit(null, () -> {
+            started.countDown();
+            release.await();
+            return null;
+        }, null, null);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = scope.submit(null, () -> "never", null, null);
+
+        scheduler.openScope("next");
+        release.countDown();
+
+        assertThrows(CancellationException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        scheduler.shutdown();
+    }
+}
@@ -0,0 +1,57 @@
+package model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GenreMask
+ */
+class GenreMaskTest {
+
+    @Test
+    @DisplayName("TMDB genres should map to distinct bits and back")
+    void testRoundTrip() {
+        long mask = GenreMask.ofIds(List.of(28, 35, 10770));
+
+        assertEquals(3, GenreMask.size(mask));
+        assertEquals(List.of(28, 35, 10770), GenreMask.toIds(mask));
+        assertTrue(GenreMask.contains(mask, 35));
+        assertFalse(GenreMask.contains(mask, 18));
+    }
+
+    @Test
+    @DisplayName("overlap should count the common genres")
+    void testOverlap() {
+        long action = GenreMask.of(List.of(new Genre(28, "Action"), new Genre(12, "Aventure")));
+        long comedy = GenreMask.of(List.of(new Genre(35, "Comédie"), new Genre(12, "Aventure")));
+
+        assertEquals(1, GenreMask.overlap(action, comedy));
+        assertTrue(GenreMask.intersects(action, comedy));
+        assertFalse(GenreMask.intersects(action, GenreMask.bit(18)));
+    }
+
+    @Test
+    @DisplayName("unknown genre ids should get their own bit")
+    void testUnknownGenre() {
+        long bit = GenreMask.bit(123456);
+
+        assertNotEquals(GenreMask.NONE, bit);
+        assertEquals(bit, GenreMask.bit(123456));
+        assertEquals(bit, GenreMask.existingBit(123456));
+        assertEquals(List.of(123456), GenreMask.toIds(bit));
+    }
+
+    @Test
+    @DisplayName("Film should expose its genres as a mask")
+    void testFilmMask() {
+        Film film = new Film();
+        film.getGenres().add(new Genre(18, "Drame"));
+
+        assertEquals(GenreMask.bit(18), film.getGenreMask());
+        assertEquals(GenreMask.NONE, new Film().getGenreMask());
+    }
+}
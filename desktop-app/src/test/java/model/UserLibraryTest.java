@@ -0,0 +1,44 @@
+package model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UserLibrary model
+ */
+class UserLibraryTest {
+
+    @Test
+    @DisplayName("UserLibrary should answer membership from the loaded ids")
+    void testMembership() {
+        UserLibrary library = new UserLibrary("user-1", List.of(1L, 2L), List.of(2L), List.of(3L));
+
+        assertTrue(library.belongsTo("user-1"));
+        assertFalse(library.belongsTo("user-2"));
+        assertTrue(library.isInWatchlist(1L));
+        assertFalse(library.isInFavorites(1L));
+        assertTrue(library.isInFavorites(2L));
+        assertTrue(library.isWatched(3L));
+        assertEquals(2, library.getWatchlistCount());
+    }
+
+    @Test
+    @DisplayName("UserLibrary updates should add and remove ids")
+    void testUpdates() {
+        UserLibrary library = new UserLibrary("user-1", List.of(), List.of(), List.of());
+
+        library.setInWatchlist(10L, true);
+        library.setInFavorites(10L, true);
+        library.setInFavorites(10L, false);
+        library.setWatched(11L, true);
+
+        assertTrue(library.isInWatchlist(10L));
+        assertFalse(library.isInFavorites(10L));
+        assertTrue(library.isWatched(11L));
+        assertEquals(0, library.getFavoritesCount());
+    }
+}
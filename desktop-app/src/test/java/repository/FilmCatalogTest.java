@@ -0,0 +1,121 @@
+package repository;
+
+import model.Film;
+import model.Genre;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FilmCatalog (filled through upsert, no Neo4j access)
+ */
+class FilmCatalogTest {
+
+    private FilmCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new FilmCatalog();
+        catalog.upsert(film(1L, "Inception", 90.0, new Genre(28, "Action"), new Genre(878, "Science-Fiction")));
+        catalog.upsert(film(2L, "Heat", 40.0, new Genre(28, "Action")));
+        catalog.upsert(film(3L, "Amélie", 60.0, new Genre(35, "Comédie")));
+    }
+
+    private Film film(long id, String title, double popularity, Genre... genres) {
+        Film film = new Film();
+        film.setId(id);
+        film.setTitle(title);
+        film.setPopularity(popularity);
+        film.setGenres(new java.util.ArrayList<>(List.of(genres)));
+        return film;
+    }
+
+    @Test
+    @DisplayName("popular should return the most popular films first")
+    void testPopular() {
+        List<Film> films = catalog.popular(2);
+
+        assertEquals(2, films.size());
+        assertEquals(1L, films.get(0).getId());
+        assertEquals(3L, films.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("byGenre should filter on the genre bitmask")
+    void testByGenre() {
+        List<Film> films = catalog.byGenre(28, 10);
+
+        assertEquals(2, films.size());
+        assertEquals(1L, films.get(0).getId());
+        assertEquals(2, films.get(0).getGenres().size());
+        assertEquals("Action", films.get(1).getGenres().get(0).getName());
+        assertTrue(catalog.byGenre(99, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("byTitle should match case-insensitive substrings")
+    void testByTitle() {
+        assertEquals(1L, catalog.byTitle("CEPT", 20).get(0).getId());
+        assertEquals(3, catalog.byTitle("e", 20).size());
+        assertTrue(catalog.byTitle("xyz", 20).isEmpty());
+    }
+
+    @Test
+    @DisplayName("upsert should update a film and keep its previous genres")
+    void testUpsert() {
+        catalog.upsert(film(2L, "Heat", 95.0, new Genre(80, "Crime")));
+
+        Film heat = catalog.findById(2L).orElseThrow();
+        assertEquals(95.0, heat.getPopularity());
+        assertEquals(2, heat.getGenres().size());
+        assertEquals(2L, catalog.popular(1).get(0).getId());
+        assertEquals(3, catalog.size());
+    }
+
+    @Test
+    @DisplayName("remove should drop the film and keep the others reachable")
+    void testRemove() {
+        catalog.remove(1L);
+
+        assertTrue(catalog.findById(1L).isEmpty());
+        assertEquals(2, catalog.size());
+        assertEquals(3L, catalog.popular(1).get(0).getId());
+        assertEquals("Heat", catalog.findById(2L).orElseThrow().getTitle());
+    }
+
+    @Test
+    @DisplayName("similar should rank by common genres, then popularity")
+    void testSimilar() {
+        catalog.upsert(film(4L, "Interstellar", 10.0, new Genre(878, "Science-Fiction"), new Genre(28, "Action")));
+
+        List<Film> films = catalog.similar(1L, java.util.Set.of(), 10).orElseThrow();
+
+        assertEquals(List.of(4L, 2L), films.stream().map(Film::getId).toList());
+        assertEquals(List.of(2L), catalog.similar(1L, java.util.Set.of(4L), 10).orElseThrow().stream().map(Film::getId).toList());
+        assertTrue(catalog.similar(99L, java.util.Set.of(), 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("titles no film uses any more should be released and their slot reused")
+    void testTitleRelease() {
+        catalog.upsert(film(4L, "Heat", 10.0));
+        assertEquals(3, catalog.titleCount());
+
+        // Renamed: the old title is still used by film 4
+        catalog.upsert(film(2L, "Heat 2", 40.0));
+        assertEquals(4, catalog.titleCount());
+        catalog.remove(4L);
+        assertEquals(3, catalog.titleCount());
+        assertTrue(catalog.byTitle("heat", 10).stream().noneMatch(f -> f.getTitle().equals("Heat")));
+
+        catalog.remove(3L);
+        catalog.upsert(film(5L, "Memento", 70.0));
+        assertEquals(3, catalog.titleCount());
+        assertEquals("Memento", catalog.byTitle("mem", 10).get(0).getTitle());
+        assertEquals("Heat 2", catalog.findById(2L).orElseThrow().getTitle());
+    }
+}
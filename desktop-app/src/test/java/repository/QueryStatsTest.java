@@ -0,0 +1,81 @@
+package repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for QueryStats latency histogram
+ */
+class QueryStatsTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    @DisplayName("New stats should report zero everywhere")
+    void testEmptyStats() {
+        QueryStats stats = new QueryStats("film.findById");
+
+        assertEquals("film.findById", stats.getName());
+        assertEquals(0, stats.getCount());
+        assertEquals(0.0, stats.getMeanMillis());
+        assertEquals(0, stats.percentileMillis(0.99));
+        assertEquals(-1, stats.getLastDbHits());
+    }
+
+    @Test
+    @DisplayName("record should update count, mean and max")
+    void testRecord() {
+        QueryStats stats = new QueryStats("film.popular");
+
+        stats.record(10 * MS, 4, 2, 1);
+        stats.record(30 * MS, 8, 4, 3);
+
+        assertEquals(2, stats.getCount());
+        assertEquals(20.0, stats.getMeanMillis(), 0.001);
+        assertEquals(30, stats.getMaxMillis());
+        assertEquals(9.0, stats.getMeanServerMillis(), 0.001);
+        assertEquals(3, stats.getMaxParamCardinality());
+    }
+
+    @Test
+    @DisplayName("percentileMillis should return the upper bound of the matching bucket")
+    void testPercentiles() {
+        QueryStats stats = new QueryStats("film.userWatchlist");
+
+        for (int i = 0; i < 99; i++) {
+            stats.record(3 * MS, 1, 1, 1);
+        }
+        stats.record(700 * MS, 1, 1, 1);
+
+        assertEquals(5, stats.percentileMillis(0.50));
+        assertEquals(5, stats.percentileMillis(0.99));
+        assertEquals(1000, stats.percentileMillis(1.0));
+    }
+
+    @Test
+    @DisplayName("Latencies beyond the last bucket should report the observed max")
+    void testOverflowBucket() {
+        QueryStats stats = new QueryStats("recommendation.collaborative");
+
+        stats.record(12_345 * MS, 1, 1, 2);
+
+        assertEquals(12_345, stats.percentileMillis(0.99));
+    }
+
+    @Test
+    @DisplayName("Failures and db hits should be tracked separately from latency")
+    void testFailuresAndDbHits() {
+        QueryStats stats = new QueryStats("genre.findAll");
+
+        stats.recordFailure();
+        stats.recordDbHits(42);
+
+        assertEquals(0, stats.getCount());
+        assertEquals(1, stats.getFailures());
+        assertEquals(1, stats.getProfiledRuns());
+        assertEquals(42, stats.getLastDbHits());
+        assertTrue(stats.summary().contains("dbHits=42"));
+    }
+}
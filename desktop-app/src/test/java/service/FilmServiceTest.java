@@ -1,7 +1,9 @@
 package service;
 
 import model.Film;
+import model.FilmPage;
 import model.Genre;
+import model.UserLibrary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -59,6 +61,17 @@ class FilmServiceTest {
         verify(filmRepository, times(1)).save(any(Film.class));
     }
 
+    @Test
+    @DisplayName("fetchPopularFilms should fetch from TMDB without saving to database")
+    void testFetchPopularFilmsReadOnly() {
+        when(tmdbService.getPopularMovies(2)).thenReturn(List.of(createMockFilm(1L, "Test Movie")));
+
+        List<Film> films = filmService.fetchPopularFilms(2);
+
+        assertEquals(1, films.size());
+        verify(filmRepository, never()).save(any(Film.class));
+    }
+
     @Test
     @DisplayName("searchFilms should return empty list for null query")
     void testSearchFilmsNullQuery() {
@@ -89,6 +102,28 @@ class FilmServiceTest {
         verify(tmdbService).searchMovies("Inception", 1);
     }
 
+    @Test
+    @DisplayName("fetchSearchResults should search TMDB without saving to database")
+    void testFetchSearchResultsReadOnly() {
+        Film mockFilm = createMockFilm(1L, "Inception");
+        when(tmdbService.searchMovies("Incep", 1)).thenReturn(List.of(mockFilm));
+
+        List<Film> films = filmService.fetchSearchResults(" Incep ", 1);
+
+        assertEquals(1, films.size());
+        verify(filmRepository, never()).save(any(Film.class));
+        // the title index still learns the results
+        assertEquals(1, filmService.searchLocal("incep", 10).size());
+    }
+
+    @Test
+    @DisplayName("saveFilms should save every film")
+    void testSaveFilms() {
+        filmService.saveFilms(List.of(createMockFilm(1L, "A"), createMockFilm(2L, "B")));
+
+        verify(filmRepository, times(2)).save(any(Film.class));
+    }
+
     // ==================== FILM DETAILS ====================
 
     @Test
@@ -174,6 +209,20 @@ class FilmServiceTest {
         verify(filmRepository, never()).getUserWatchlist(anyString());
     }
 
+    @Test
+    @DisplayName("getUserListPage should pass the cursor to the repository")
+    void testGetUserListPage() {
+        FilmPage.Cursor cursor = new FilmPage.Cursor("Movie", 1L);
+        FilmPage page = new FilmPage(List.of(createMockFilm(2L, "Next")), null);
+        when(filmRepository.getUserListPage("user123", FilmRepository.UserList.WATCHLIST, cursor, 50)).thenReturn(page);
+
+        FilmPage result = filmService.getUserListPage("user123", FilmRepository.UserList.WATCHLIST, cursor, 50);
+
+        assertEquals(1, result.films().size());
+        assertFalse(result.hasMore());
+        assertTrue(filmService.getUserListPage(null, FilmRepository.UserList.WATCHLIST, null, 50).films().isEmpty());
+    }
+
     @Test
     @DisplayName("isInWatchlist should check correctly")
     void testIsInWatchlist() {
@@ -182,6 +231,21 @@ class FilmServiceTest {
         assertTrue(filmService.isInWatchlist("user123", 1L));
     }
 
+    @Test
+    @DisplayName("isInWatchlist should use the loaded user library instead of querying")
+    void testIsInWatchlistFromLibrary() {
+        when(filmRepository.getUserLibrary("user123"))
+                .thenReturn(new UserLibrary("user123", List.of(1L), List.of(), List.of()));
+        when(filmRepository.findById(2L)).thenReturn(Optional.of(createMockFilm(2L, "Movie")));
+
+        filmService.loadUserLibrary("user123");
+        filmService.addToWatchlist("user123", 2L);
+
+        assertTrue(filmService.isInWatchlist("user123", 1L));
+        assertTrue(filmService.isInWatchlist("user123", 2L));
+        verify(filmRepository, never()).isInWatchlist(anyString(), anyLong());
+    }
+
     // ==================== FAVORITES ====================
 
     @Test
@@ -0,0 +1,65 @@
+package service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GenreDictionary (loaders are stubbed, no TMDB or Neo4j access)
+ */
+class GenreDictionaryTest {
+
+    @Test
+    @DisplayName("GenreDictionary should look up names by id after loading")
+    void testLookup() {
+        GenreDictionary dictionary = new GenreDictionary(() -> Map.of(28, "Action", 35, "Comédie"), Map::of);
+
+        assertFalse(dictionary.isLoaded());
+        dictionary.ensureLoaded();
+
+        assertEquals("Action", dictionary.name(28));
+        assertEquals("Comédie", dictionary.name(35));
+        assertNull(dictionary.name(99));
+        assertNull(dictionary.name(-1));
+        assertEquals("Unknown", dictionary.nameOrDefault(99999, "Unknown"));
+        assertEquals("tmdb", dictionary.getSource());
+    }
+
+    @Test
+    @DisplayName("GenreDictionary should fall back to Neo4j genres when TMDB fails")
+    void testFallback() {
+        GenreDictionary dictionary = new GenreDictionary(
+                () -> { throw new IllegalStateException("offline"); },
+                () -> Map.of(18, "Drame"));
+
+        assertTrue(dictionary.refresh());
+        assertEquals("Drame", dictionary.name(18));
+        assertEquals("neo4j", dictionary.getSource());
+    }
+
+    @Test
+    @DisplayName("GenreDictionary should keep the current snapshot when a refresh fails")
+    void testFailedRefreshKeepsData() {
+        GenreDictionary dictionary = new GenreDictionary(Map::of, Map::of);
+        dictionary.publish(Map.of(28, "Action"), "disk");
+
+        assertFalse(dictionary.refresh());
+        assertEquals("Action", dictionary.name(28));
+        assertEquals(1, dictionary.size());
+    }
+
+    @Test
+    @DisplayName("GenreDictionary map view should be read-only and sorted by name")
+    void testMapView() {
+        GenreDictionary dictionary = new GenreDictionary(Map::of, Map::of);
+        dictionary.publish(Map.of(53, "Thriller", 28, "Action", 100000, "Custom"), "test");
+
+        Map<Integer, String> view = dictionary.asMap();
+        assertEquals("Action", view.values().iterator().next());
+        assertEquals("Custom", dictionary.name(100000));
+        assertThrows(UnsupportedOperationException.class, () -> view.put(1, "x"));
+    }
+}
@@ -0,0 +1,90 @@
+package service;
+
+import model.Film;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TitleIndex
+ */
+class TitleIndexTest {
+
+    private TitleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TitleIndex();
+        index.addAll(List.of(
+                film(1L, "Star Wars", 80.0),
+                film(2L, "Lone Star", 20.0),
+                film(3L, "Mustang", 10.0),
+                film(4L, "L'Été meurtrier", 5.0)));
+    }
+
+    private Film film(long id, String title, double popularity) {
+        Film film = new Film();
+        film.setId(id);
+        film.setTitle(title);
+        film.setPopularity(popularity);
+        return film;
+    }
+
+    @Test
+    @DisplayName("search should match words and rank titles starting with the query first")
+    void testSearch() {
+        List<Film> results = index.search("star", 10);
+
+        assertEquals(2, results.size());
+        assertEquals(1L, results.get(0).getId());
+        assertEquals(2L, results.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("search should ignore case, accents and punctuation")
+    void testNormalization() {
+        assertEquals(4L, index.search("l ete", 10).get(0).getId());
+        assertEquals(4L, index.search("ÉTÉ", 10).get(0).getId());
+    }
+
+    @Test
+    @DisplayName("short queries should match word prefixes only")
+    void testShortQuery() {
+        List<Film> results = index.search("st", 10);
+
+        // "Mustang" contains "st" but no word starts with it
+        assertEquals(2, results.size());
+        assertEquals(1, index.search("mustang", 10).size());
+    }
+
+    @Test
+    @DisplayName("refined queries should also find films indexed after the first query")
+    void testRefinementSeesNewFilms() {
+        assertEquals(2, index.search("star", 10).size());
+
+        index.addAll(List.of(film(5L, "Star Trek", 50.0)));
+
+        List<Film> results = index.search("star t", 10);
+        assertEquals(1, results.size());
+        assertEquals(5L, results.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("a substring query should not reuse the results of a short word prefix")
+    void testRefinementFromShortPrefix() {
+        assertEquals(2, index.search("st", 10).size());
+
+        assertEquals(1, index.search("sta", 10).stream().filter(f -> f.getId() == 3L).count());
+    }
+
+    @Test
+    @DisplayName("search should respect the limit")
+    void testLimit() {
+        assertEquals(1, index.search("star", 1).size());
+        assertTrue(index.search("", 10).isEmpty());
+    }
+}
@@ -261,4 +261,17 @@ class TmdbServiceTest {
         assertNotNull(url);
         assertEquals("https://image.tmdb.org/t/p/w185/xyz789.jpg", url);
     }
+
+    // ==================== LOCALES ====================
+
+    @Test
+    @DisplayName("forLanguage should reuse the instance for its own locale")
+    void testForLanguage() {
+        String language = tmdbService.getLanguage();
+
+        assertSame(tmdbService, tmdbService.forLanguage(language));
+        TmdbService english = tmdbService.forLanguage("en-GB");
+        assertEquals("en-GB", english.getLanguage());
+        assertNotSame(GenreDictionary.forLanguage(language), GenreDictionary.forLanguage("en-GB"));
+    }
 }
@@ -0,0 +1,58 @@
+package com.guelyatime.config;
+
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Création des contraintes Neo4j au démarrage
+ *
+ * L'unicité de User.username et User.email est garantie par la base: l'inscription se fait
+ * en une seule écriture, sans vérification préalable ni course entre deux inscriptions.
+ *
+ * Les contraintes sont créées à l'initialisation du bean, donc avant le démarrage du serveur web:
+ * aucune inscription ne peut arriver avant elles. Si l'une d'elles ne peut pas être créée
+ * (doublons déjà présents par exemple), le démarrage échoue plutôt que d'accepter de nouveaux doublons.
+ */
+@Component
+public class Neo4jSchemaInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(Neo4jSchemaInitializer.class);
+
+    public static final String USERNAME_CONSTRAINT = "user_username_unique";
+    public static final String EMAIL_CONSTRAINT = "user_email_unique";
+    public static final String ID_CONSTRAINT = "user_id_unique";
+    public static final String REFRESH_TOKEN_CONSTRAINT = "refresh_token_hash_unique";
+
+    private static final List<String> CONSTRAINTS = List.of(
+        "CREATE CONSTRAINT " + USERNAME_CONSTRAINT + " IF NOT EXISTS FOR (u:User) REQUIRE u.username IS UNIQUE",
+        "CREATE CONSTRAINT " + EMAIL_CONSTRAINT + " IF NOT EXISTS FOR (u:User) REQUIRE u.email IS UNIQUE",
+        "CREATE CONSTRAINT " + ID_CONSTRAINT + " IF NOT EXISTS FOR (u:User) REQUIRE u.id IS UNIQUE",
+        // Refresh tokens: recherche par empreinte, révocation par famille
+        "CREATE CONSTRAINT " + REFRESH_TOKEN_CONSTRAINT + " IF NOT EXISTS FOR (t:RefreshToken) REQUIRE t.tokenHash IS UNIQUE",
+        "CREATE INDEX refresh_token_family IF NOT EXISTS FOR (t:RefreshToken) ON (t.familyId)"
+    );
+
+    private final Neo4jClient neo4jClient;
+
+    public Neo4jSchemaInitializer(Neo4jClient neo4jClient) {
+        this.neo4jClient = neo4jClient;
+    }
+
+    @PostConstruct
+    public void createConstraints() {
+        for (String constraint : CONSTRAINTS) {
+            try {
+                neo4jClient.query(constraint).run();
+            } catch (Exception e) {
+                throw new IllegalStateException("Neo4j schema could not be ensured: " + constraint, e);
+            }
+        }
+        logger.info("Neo4j constraints and indexes checked");
+    }
+}
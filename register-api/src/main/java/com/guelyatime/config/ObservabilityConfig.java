@@ -0,0 +1,39 @@
+package com.guelyatime.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.neo4j.driver.MetricsAdapter;
+import org.springframework.boot.autoconfigure.neo4j.ConfigBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration des métriques
+ *
+ * - auth.requests : durée de register/login (@Timed), histogrammes pour les percentiles
+ * - auth.password.hashing : temps BCrypt seul, hors attente dans la file du pool
+ * - spring.data.repository.invocations : temps Neo4j par méthode de UserRepository (Spring Boot)
+ * - neo4j.driver.connections.* : pool de connexions du driver
+ */
+@Configuration
+public class ObservabilityConfig {
+
+    /**
+     * Active @Timed sur les beans Spring
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    /**
+     * Métriques du pool de connexions du driver Neo4j, publiées dans le registre global Micrometer
+     */
+    @Bean
+    public ConfigBuilderCustomizer neo4jDriverMetrics() {
+        return builder -> builder
+            .withDriverMetrics()
+            .withMetricsAdapter(MetricsAdapter.MICROMETER);
+    }
+}
@@ -2,9 +2,14 @@ package com.guelyatime.controller;
 
 import com.guelyatime.dto.AuthResponse;
 import com.guelyatime.dto.LoginRequest;
+import com.guelyatime.dto.RefreshRequest;
 import com.guelyatime.dto.RegisterRequest;
+import com.guelyatime.exception.InvalidCredentialsException;
+import com.guelyatime.security.JwtAuthenticationFilter;
+import com.guelyatime.security.LoginRateLimiter;
 import com.guelyatime.service.AuthService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 import org.springframework.http.HttpStatus;
@@ -17,6 +22,8 @@ import org.springframework.web.bind.annotation.*;
  * Endpoints:
  * - POST /api/auth/register : Inscription d'un nouvel utilisateur
  * - POST /api/auth/login    : Connexion d'un utilisateur
+ * - POST /api/auth/refresh  : Renouvellement des tokens par refresh token
+ * - POST /api/auth/logout   : Révocation du token courant (et du refresh token fourni)
  */
 @RestController
 @RequestMapping("/api/auth")
@@ -24,9 +31,11 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final LoginRateLimiter rateLimiter;
 
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService, LoginRateLimiter rateLimiter) {
         this.authService = authService;
+        this.rateLimiter = rateLimiter;
     }
 
     /**
@@ -49,10 +58,41 @@ public class AuthController {
      */
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        AuthResponse response = authService.login(request);
+        // Limiter les échecs par compte avant toute lecture Neo4j ou vérification de mot de passe
+        rateLimiter.checkEmail(request.getEmail());
+        AuthResponse response;
+        try {
+            response = authService.login(request);
+        } catch (InvalidCredentialsException e) {
+            rateLimiter.recordEmailFailure(request.getEmail());
+            throw e;
+        }
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Renouvellement des tokens
+     * 
+     * @param request Le refresh token reçu à la connexion ou au dernier renouvellement
+     * @return Un nouveau token JWT et un nouveau refresh token (l'ancien n'est plus valable)
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshRequest request) {
+        AuthResponse response = authService.refresh(request);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Déconnexion: révoque le token Bearer de la requête et, s'il est fourni, le refresh token
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(HttpServletRequest request,
+                                       @RequestBody(required = false) RefreshRequest body) {
+        String token = JwtAuthenticationFilter.resolveToken(request);
+        authService.logout(token, body != null ? body.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Endpoint de test pour vérifier que l'API est accessible
      */
@@ -9,6 +9,7 @@ public class AuthResponse {
 
     private User user;
     private String token;
+    private String refreshToken;
     private String message;
 
     // Constructeurs
@@ -24,6 +25,18 @@ public class AuthResponse {
         return new AuthResponse(user, token, "Opération réussie");
     }
 
+    public static AuthResponse success(User user, String token, String refreshToken) {
+        AuthResponse response = success(user, token);
+        response.setRefreshToken(refreshToken);
+        return response;
+    }
+
+    public static AuthResponse refreshed(String token, String refreshToken) {
+        AuthResponse response = new AuthResponse(null, token, "Session renouvelée");
+        response.setRefreshToken(refreshToken);
+        return response;
+    }
+
     public static AuthResponse registered(User user) {
         return new AuthResponse(user, null, "Inscription réussie");
     }
@@ -45,6 +58,14 @@ public class AuthResponse {
         this.token = token;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
     public String getMessage() {
         return message;
     }
@@ -0,0 +1,28 @@
+package com.guelyatime.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * DTO pour le renouvellement des tokens (et la révocation à la déconnexion)
+ */
+public class RefreshRequest {
+
+    @NotBlank(message = "Le refresh token est requis")
+    private String refreshToken;
+
+    // Constructeurs
+    public RefreshRequest() {}
+
+    public RefreshRequest(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    // Getters et Setters
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
@@ -1,9 +1,12 @@
 package com.guelyatime.exception;
 
+import com.guelyatime.config.Neo4jSchemaInitializer;
 import com.guelyatime.dto.ErrorResponse;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -68,6 +71,38 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    /**
+     * Gestion des violations de contrainte d'unicité Neo4j (inscription concurrente ou doublon)
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(
+            DataIntegrityViolationException ex) {
+
+        String message = constraintMessage(ex);
+        if (message.contains(Neo4jSchemaInitializer.USERNAME_CONSTRAINT) || message.contains("`username`")) {
+            return handleUsernameAlreadyExists(
+                new UsernameAlreadyExistsException("Ce nom d'utilisateur est déjà utilisé"));
+        }
+        if (message.contains(Neo4jSchemaInitializer.EMAIL_CONSTRAINT) || message.contains("`email`")) {
+            return handleEmailAlreadyExists(
+                new EmailAlreadyExistsException("Cet email est déjà utilisé"));
+        }
+
+        logger.error("Data integrity violation: ", ex);
+        ErrorResponse response = ErrorResponse.of("Conflit avec des données existantes", 409);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    // Messages de toute la chaîne des causes (le message du driver Neo4j nomme la propriété)
+    private static String constraintMessage(Throwable ex) {
+        StringBuilder message = new StringBuilder();
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null) message.append(cause.getMessage()).append('\n');
+            if (cause.getCause() == cause) break;
+        }
+        return message.toString();
+    }
+
     /**
      * Gestion de l'exception identifiants invalides
      */
@@ -79,6 +114,28 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
     }
 
+    /**
+     * Gestion de la saturation du service (pool de hachage plein)
+     */
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ErrorResponse> handleServiceBusy(ServiceBusyException ex) {
+        ErrorResponse response = ErrorResponse.of(ex.getMessage(), 503);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(response);
+    }
+
+    /**
+     * Gestion du dépassement de la limite de tentatives
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceeded(RateLimitExceededException ex) {
+        ErrorResponse response = ErrorResponse.of(ex.getMessage(), 429);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(response);
+    }
+
     /**
      * Gestion des exceptions génériques
      */
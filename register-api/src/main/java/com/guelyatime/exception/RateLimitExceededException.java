@@ -0,0 +1,18 @@
+package com.guelyatime.exception;
+
+/**
+ * Exception levée quand un client dépasse le nombre de tentatives autorisé (réponse 429)
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
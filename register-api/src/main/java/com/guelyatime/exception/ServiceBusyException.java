@@ -0,0 +1,18 @@
+package com.guelyatime.exception;
+
+/**
+ * Exception levée quand le service est saturé (réponse 503, à réessayer plus tard)
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public ServiceBusyException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
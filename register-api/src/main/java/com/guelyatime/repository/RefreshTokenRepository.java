@@ -0,0 +1,109 @@
+package com.guelyatime.repository;
+
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Refresh tokens stockés dans Neo4j: (:User)-[:HAS_REFRESH_TOKEN]->(:RefreshToken)
+ *
+ * Seule l'empreinte SHA-256 du token est stockée (tokenHash, unique et indexé). Les tokens
+ * issus d'une même connexion partagent un familyId, ce qui permet de révoquer toute la
+ * chaîne de rotation en cas de réutilisation.
+ */
+@Repository
+public class RefreshTokenRepository {
+
+    /**
+     * Token consommé et utilisateur associé; usedBefore est non nul si le token avait déjà servi
+     */
+    public record ConsumedToken(
+            String userId,
+            String username,
+            String email,
+            boolean active,
+            String familyId,
+            long expiresAt,
+            boolean revoked,
+            Long usedBefore) {}
+
+    private static final String CREATE = """
+        MATCH (u:User {id: $userId})
+        OPTIONAL MATCH (u)-[:HAS_REFRESH_TOKEN]->(expired:RefreshToken)
+        WHERE expired.expiresAt < $now
+        DETACH DELETE expired
+        WITH DISTINCT u
+        CREATE (u)-[:HAS_REFRESH_TOKEN]->(:RefreshToken {
+            tokenHash: $tokenHash, familyId: $familyId, createdAt: $now, expiresAt: $expiresAt, revoked: false
+        })
+        """;
+
+    // Le premier SET prend le verrou d'écriture du nœud: deux rotations concurrentes du même
+    // token sont sérialisées et la seconde voit usedAt déjà renseigné
+    private static final String CONSUME = """
+        MATCH (u:User)-[:HAS_REFRESH_TOKEN]->(t:RefreshToken {tokenHash: $tokenHash})
+        SET t.lockedAt = $now
+        WITH u, t, t.usedAt AS usedBefore
+        SET t.usedAt = coalesce(t.usedAt, $now)
+        RETURN u.id AS userId, u.username AS username, u.email AS email, u.active AS active,
+               t.familyId AS familyId, t.expiresAt AS expiresAt, t.revoked AS revoked, usedBefore
+        """;
+
+    private static final String REVOKE_FAMILY = """
+        MATCH (t:RefreshToken {familyId: $familyId})
+        SET t.revoked = true
+        """;
+
+    private final Neo4jClient neo4jClient;
+
+    public RefreshTokenRepository(Neo4jClient neo4jClient) {
+        this.neo4jClient = neo4jClient;
+    }
+
+    /**
+     * Enregistrer un nouveau token (et supprimer les tokens expirés de l'utilisateur)
+     */
+    public void create(String userId, String tokenHash, String familyId, long expiresAt) {
+        neo4jClient.query(CREATE)
+            .bindAll(Map.of(
+                "userId", userId,
+                "tokenHash", tokenHash,
+                "familyId", familyId,
+                "expiresAt", expiresAt,
+                "now", System.currentTimeMillis()
+            ))
+            .run();
+    }
+
+    /**
+     * Marquer le token comme utilisé et retourner son état précédent
+     */
+    public Optional<ConsumedToken> consume(String tokenHash) {
+        return neo4jClient.query(CONSUME)
+            .bind(tokenHash).to("tokenHash")
+            .bind(System.currentTimeMillis()).to("now")
+            .fetchAs(ConsumedToken.class)
+            .mappedBy((typeSystem, record) -> new ConsumedToken(
+                record.get("userId").asString(),
+                record.get("username").asString(null),
+                record.get("email").asString(null),
+                record.get("active").asBoolean(true),
+                record.get("familyId").asString(),
+                record.get("expiresAt").asLong(),
+                record.get("revoked").asBoolean(false),
+                record.get("usedBefore").isNull() ? null : record.get("usedBefore").asLong()
+            ))
+            .one();
+    }
+
+    /**
+     * Révoquer tous les tokens d'une famille (réutilisation détectée ou déconnexion)
+     */
+    public void revokeFamily(String familyId) {
+        neo4jClient.query(REVOKE_FAMILY)
+            .bind(familyId).to("familyId")
+            .run();
+    }
+}
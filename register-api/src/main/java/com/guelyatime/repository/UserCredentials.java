@@ -0,0 +1,35 @@
+package com.guelyatime.repository;
+
+import com.guelyatime.model.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection d'un utilisateur pour la connexion: identifiants, hash et état du compte,
+ * plus le profil renvoyé dans la réponse (lue sans hydrater l'entité User)
+ */
+public record UserCredentials(
+        String id,
+        String username,
+        String email,
+        String passwordHash,
+        boolean active,
+        String firstName,
+        String lastName,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    /**
+     * Utilisateur pour le token et la réponse de connexion
+     */
+    public User toUser() {
+        User user = new User(username, email, passwordHash);
+        user.setId(id);
+        user.setActive(active);
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setCreatedAt(createdAt);
+        user.setUpdatedAt(updatedAt);
+        return user;
+    }
+}
@@ -0,0 +1,14 @@
+package com.guelyatime.repository;
+
+import java.util.Optional;
+
+/**
+ * Requêtes de connexion écrites à la main (fragment de UserRepository)
+ */
+public interface UserCredentialsQueries {
+
+    /**
+     * Identifiants d'un utilisateur par email, sans passer par le mapping SDN
+     */
+    Optional<UserCredentials> findCredentialsByEmail(String email);
+}
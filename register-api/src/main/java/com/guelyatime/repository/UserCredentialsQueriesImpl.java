@@ -0,0 +1,56 @@
+package com.guelyatime.repository;
+
+import org.neo4j.driver.Value;
+import org.springframework.data.neo4j.core.Neo4jClient;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Implémentation par Neo4jClient: propriétés lues directement depuis l'enregistrement
+ * (pas de réflexion ni d'entité intermédiaire)
+ *
+ * La vérification n'utilise que id, password et active, mais la réponse de connexion renvoie
+ * le profil de l'utilisateur (contrat de l'API): le relire après un mot de passe correct
+ * coûterait une seconde requête par connexion réussie, pour quelques propriétés scalaires
+ * économisées. Les relations et la liste de films ne sont jamais chargées.
+ */
+class UserCredentialsQueriesImpl implements UserCredentialsQueries {
+
+    private static final String FIND_BY_EMAIL = """
+        MATCH (u:User {email: $email})
+        RETURN u.id AS id, u.username AS username, u.email AS email, u.password AS password,
+               u.active AS active, u.firstName AS firstName, u.lastName AS lastName,
+               u.createdAt AS createdAt, u.updatedAt AS updatedAt
+        LIMIT 1
+        """;
+
+    private final Neo4jClient neo4jClient;
+
+    UserCredentialsQueriesImpl(Neo4jClient neo4jClient) {
+        this.neo4jClient = neo4jClient;
+    }
+
+    @Override
+    public Optional<UserCredentials> findCredentialsByEmail(String email) {
+        return neo4jClient.query(FIND_BY_EMAIL)
+            .bind(email).to("email")
+            .fetchAs(UserCredentials.class)
+            .mappedBy((typeSystem, record) -> new UserCredentials(
+                record.get("id").asString(),
+                record.get("username").asString(null),
+                record.get("email").asString(null),
+                record.get("password").asString(null),
+                record.get("active").asBoolean(true),
+                record.get("firstName").asString(null),
+                record.get("lastName").asString(null),
+                localDateTime(record.get("createdAt")),
+                localDateTime(record.get("updatedAt"))
+            ))
+            .one();
+    }
+
+    private static LocalDateTime localDateTime(Value value) {
+        return value.isNull() ? null : value.asLocalDateTime();
+    }
+}
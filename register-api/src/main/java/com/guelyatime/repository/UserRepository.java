@@ -2,15 +2,19 @@ package com.guelyatime.repository;
 
 import com.guelyatime.model.User;
 import org.springframework.data.neo4j.repository.Neo4jRepository;
+import org.springframework.data.neo4j.repository.query.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 /**
  * Repository pour les opérations CRUD sur les utilisateurs dans Neo4j
+ *
+ * Les requêtes du chemin de connexion sont écrites à la main: existences par count,
+ * identifiants lus par projection (UserCredentialsQueries).
  */
 @Repository
-public interface UserRepository extends Neo4jRepository<User, String> {
+public interface UserRepository extends Neo4jRepository<User, String>, UserCredentialsQueries {
 
     /**
      * Trouver un utilisateur par son email
@@ -25,15 +29,24 @@ public interface UserRepository extends Neo4jRepository<User, String> {
     /**
      * Vérifier si un email existe déjà
      */
+    @Query("MATCH (u:User {email: $email}) RETURN count(u) > 0")
     boolean existsByEmail(String email);
 
     /**
      * Vérifier si un nom d'utilisateur existe déjà
      */
+    @Query("MATCH (u:User {username: $username}) RETURN count(u) > 0")
     boolean existsByUsername(String username);
 
     /**
      * Trouver un utilisateur par email ou username
      */
+    @Query("MATCH (u:User) WHERE u.email = $email OR u.username = $username RETURN u LIMIT 1")
     Optional<User> findByEmailOrUsername(String email, String username);
+
+    /**
+     * Remplacer le hash du mot de passe (rehachage au coût actuel)
+     */
+    @Query("MATCH (u:User {id: $id}) SET u.password = $password")
+    void updatePassword(String id, String password);
 }
@@ -0,0 +1,84 @@
+package com.guelyatime.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Filtre d'authentification par token JWT (en-tête Authorization: Bearer)
+ *
+ * Sans token, ou avec un token invalide, expiré ou révoqué, la requête continue sans
+ * authentification et les règles de SecurityConfig s'appliquent (401 sur les endpoints protégés).
+ */
+@Component
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtService jwtService;
+    private final VerifiedTokenCache tokenCache;
+    private final TokenRevocationList revocationList;
+
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   VerifiedTokenCache tokenCache,
+                                   TokenRevocationList revocationList) {
+        this.jwtService = jwtService;
+        this.tokenCache = tokenCache;
+        this.revocationList = revocationList;
+    }
+
+    /**
+     * Extraire le token de l'en-tête Authorization, ou null
+     */
+    public static String resolveToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) return null;
+        String token = header.substring(BEARER_PREFIX.length()).trim();
+        return token.isEmpty() ? null : token;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String token = resolveToken(request);
+        if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            VerifiedTokenCache.VerifiedToken verified = verify(token);
+            if (verified != null && !revocationList.isRevoked(verified.revocationId())) {
+                UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(verified.userId(), null, List.of());
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Token vérifié, depuis le cache ou en vérifiant la signature; null si invalide
+     */
+    public VerifiedTokenCache.VerifiedToken verify(String token) {
+        String tokenHash = tokenCache.hash(token);
+        VerifiedTokenCache.VerifiedToken cached = tokenCache.get(tokenHash);
+        if (cached != null) return cached;
+        try {
+            Claims claims = jwtService.parseClaims(token);
+            return tokenCache.put(tokenHash, claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
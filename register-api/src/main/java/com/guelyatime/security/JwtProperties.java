@@ -0,0 +1,57 @@
+package com.guelyatime.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration des tokens JWT (préfixe "jwt")
+ *
+ * Rotation des clés: chaque clé est déclarée sous jwt.keys.&lt;kid&gt;, jwt.active-key-id désigne
+ * celle qui signe les nouveaux tokens. Les autres restent acceptées en vérification.
+ * jwt.secret reste la clé "default", utilisée aussi pour les tokens émis sans kid.
+ */
+@ConfigurationProperties(prefix = "jwt")
+public class JwtProperties {
+
+    public static final String DEFAULT_KEY_ID = "default";
+
+    private String secret = "mySecretKeyForGuelyaTimeApplicationThatIsAtLeast256Bits";
+    private long expiration = 900000; // 15 minutes par défaut
+    private String activeKeyId = DEFAULT_KEY_ID;
+    private Map<String, String> keys = new LinkedHashMap<>();
+
+    // Getters et Setters
+    public String getSecret() {
+        return secret;
+    }
+
+    public void setSecret(String secret) {
+        this.secret = secret;
+    }
+
+    public long getExpiration() {
+        return expiration;
+    }
+
+    public void setExpiration(long expiration) {
+        this.expiration = expiration;
+    }
+
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    public void setActiveKeyId(String activeKeyId) {
+        this.activeKeyId = activeKeyId;
+    }
+
+    public Map<String, String> getKeys() {
+        return keys;
+    }
+
+    public void setKeys(Map<String, String> keys) {
+        this.keys = keys;
+    }
+}
@@ -3,35 +3,76 @@ package com.guelyatime.security;
 import com.guelyatime.model.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  * Service pour la gestion des tokens JWT
+ *
+ * Les clés HMAC et le parser sont construits une seule fois au démarrage: ils sont immuables
+ * et thread-safe, la vérification d'un token ne refait donc ni dérivation de clé ni construction
+ * de parser. Chaque token porte le kid de sa clé dans son en-tête.
  */
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret:mySecretKeyForGuelyaTimeApplicationThatIsAtLeast256Bits}")
-    private String secretKey;
+    private final Map<String, SecretKey> keys;
+    private final String activeKeyId;
+    private final SecretKey activeKey;
+    private final long jwtExpiration;
+    private final JwtParser parser;
 
-    @Value("${jwt.expiration:86400000}") // 24 heures par défaut
-    private long jwtExpiration;
+    public JwtService(JwtProperties properties) {
+        this.keys = loadKeys(properties);
+        this.activeKeyId = properties.getActiveKeyId();
+        this.activeKey = keys.get(activeKeyId);
+        if (activeKey == null) {
+            throw new IllegalStateException("Clé JWT active inconnue: " + activeKeyId);
+        }
+        this.jwtExpiration = properties.getExpiration();
+        this.parser = Jwts.parser()
+                .keyLocator(new KeyIdLocator(keys))
+                .build();
+    }
+
+    /**
+     * Charger les clés par kid (la clé jwt.secret sous "default")
+     */
+    private static Map<String, SecretKey> loadKeys(JwtProperties properties) {
+        Map<String, SecretKey> keys = new LinkedHashMap<>();
+        if (properties.getSecret() != null && !properties.getSecret().isBlank()) {
+            keys.put(JwtProperties.DEFAULT_KEY_ID, hmacKey(properties.getSecret()));
+        }
+        properties.getKeys().forEach((kid, secret) -> keys.put(kid, hmacKey(secret)));
+        return Map.copyOf(keys);
+    }
+
+    private static SecretKey hmacKey(String secret) {
+        // Lève WeakKeyException au démarrage si la clé fait moins de 256 bits
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
 
     /**
      * Générer un token JWT pour un utilisateur
      */
     public String generateToken(User user) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
+                .header().keyId(activeKeyId).and()
+                .id(UUID.randomUUID().toString())
                 .subject(user.getId())
                 .claim("username", user.getUsername())
                 .claim("email", user.getEmail())
-                .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSigningKey())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + jwtExpiration))
+                .signWith(activeKey)
                 .compact();
     }
 
@@ -47,10 +88,7 @@ public class JwtService {
      */
     public boolean isTokenValid(String token) {
         try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token);
+            parser.parseSignedClaims(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
@@ -69,6 +107,22 @@ public class JwtService {
         }
     }
 
+    /**
+     * Vérifier la signature et l'expiration puis retourner les claims
+     *
+     * @throws JwtException si le token est invalide ou expiré
+     */
+    public Claims parseClaims(String token) {
+        return extractAllClaims(token);
+    }
+
+    /**
+     * Identifiant de la clé qui signe les nouveaux tokens
+     */
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
     /**
      * Extraire une claim spécifique du token
      */
@@ -81,18 +135,29 @@ public class JwtService {
      * Extraire toutes les claims du token
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     /**
-     * Obtenir la clé de signature
+     * Choisit la clé de vérification d'après le kid de l'en-tête
      */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secretKey.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static final class KeyIdLocator extends LocatorAdapter<Key> {
+
+        private final Map<String, SecretKey> keys;
+
+        KeyIdLocator(Map<String, SecretKey> keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        protected Key locate(ProtectedHeader header) {
+            // Tokens émis avant la rotation: pas de kid, clé par défaut
+            String kid = header.getKeyId() != null ? header.getKeyId() : JwtProperties.DEFAULT_KEY_ID;
+            SecretKey key = keys.get(kid);
+            if (key == null) {
+                throw new UnsupportedJwtException("Clé de signature inconnue: " + kid);
+            }
+            return key;
+        }
     }
 }
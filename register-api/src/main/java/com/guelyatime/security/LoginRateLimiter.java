@@ -0,0 +1,86 @@
+package com.guelyatime.security;
+
+import com.guelyatime.exception.RateLimitExceededException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limites de tentatives sur les endpoints d'authentification, par IP et par email
+ *
+ * Vérifiées avant toute lecture Neo4j ou tout calcul BCrypt: une rafale de credential
+ * stuffing est refusée (429) pour le coût d'une lecture de compteur. Par IP toutes les
+ * requêtes comptent; par email seulement les échecs de connexion.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final SlidingWindowRateLimiter perIp;
+    private final SlidingWindowRateLimiter perEmail;
+    private final Counter ipRejections;
+    private final Counter emailRejections;
+
+    public LoginRateLimiter(MeterRegistry registry,
+                            @Value("${security.rate-limit.ip.limit:30}") int ipLimit,
+                            @Value("${security.rate-limit.ip.window-seconds:60}") long ipWindowSeconds,
+                            @Value("${security.rate-limit.email.limit:10}") int emailLimit,
+                            @Value("${security.rate-limit.email.window-seconds:300}") long emailWindowSeconds,
+                            @Value("${security.rate-limit.max-keys:100000}") int maxKeys) {
+        this.perIp = new SlidingWindowRateLimiter(ipLimit, ipWindowSeconds * 1000, maxKeys);
+        this.perEmail = new SlidingWindowRateLimiter(emailLimit, emailWindowSeconds * 1000, maxKeys);
+        this.ipRejections = Counter.builder("auth.rate_limit.rejections")
+            .description("Requêtes d'authentification refusées par la limite de débit")
+            .tag("key", "ip")
+            .register(registry);
+        this.emailRejections = Counter.builder("auth.rate_limit.rejections")
+            .description("Requêtes d'authentification refusées par la limite de débit")
+            .tag("key", "email")
+            .register(registry);
+        Gauge.builder("auth.rate_limit.tracked_keys", perIp, SlidingWindowRateLimiter::size)
+            .tag("key", "ip")
+            .register(registry);
+        Gauge.builder("auth.rate_limit.tracked_keys", perEmail, SlidingWindowRateLimiter::size)
+            .tag("key", "email")
+            .register(registry);
+    }
+
+    /**
+     * Compter une requête d'authentification venant de cette adresse
+     *
+     * @throws RateLimitExceededException si la limite par IP est atteinte
+     */
+    public void checkIp(String remoteAddress) {
+        if (!perIp.tryAcquire(remoteAddress)) {
+            ipRejections.increment();
+            throw new RateLimitExceededException(
+                "Trop de tentatives, veuillez réessayer plus tard", perIp.retryAfterSeconds());
+        }
+    }
+
+    /**
+     * Refuser une connexion sur ce compte après trop d'échecs récents
+     *
+     * Seuls les échecs sont comptés (recordEmailFailure): l'utilisateur qui se connecte normalement,
+     * même souvent, ne consomme pas la limite de son propre compte.
+     *
+     * @throws RateLimitExceededException si la limite d'échecs par email est atteinte
+     */
+    public void checkEmail(String email) {
+        if (perEmail.isLimited(email.toLowerCase())) {
+            emailRejections.increment();
+            throw new RateLimitExceededException(
+                "Trop de tentatives pour ce compte, veuillez réessayer plus tard", perEmail.retryAfterSeconds());
+        }
+    }
+
+    /**
+     * Compter un échec de connexion sur ce compte
+     */
+    public void recordEmailFailure(String email) {
+        perEmail.record(email.toLowerCase());
+    }
+}
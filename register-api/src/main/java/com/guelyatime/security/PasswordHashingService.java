@@ -0,0 +1,220 @@
+package com.guelyatime.security;
+
+import com.guelyatime.exception.ServiceBusyException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Hachage des mots de passe (BCrypt) sur un pool CPU dédié
+ *
+ * Le pool a autant de threads que de cœurs et une file bornée: quand elle est pleine, la
+ * demande est refusée immédiatement (503) au lieu d'occuper un thread Tomcat pendant le calcul.
+ * Les threads Tomcat restent ainsi disponibles pour les autres requêtes (health check compris).
+ *
+ * Les rehash (après un changement de coût) passent après les connexions: seulement quand la file
+ * est vide, et sur une partie des threads. L'écriture du nouveau hash se fait sur un thread
+ * à part, jamais sur un thread de hachage.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private static final int RETRY_AFTER_SECONDS = 1;
+    // Écritures de rehash en attente au-delà desquelles les suivantes sont abandonnées
+    private static final int REHASH_WRITE_QUEUE = 1000;
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore rehashPermits;
+    private final ExecutorService rehashWriter;
+    private final long timeoutMs;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry registry,
+                                  @Value("${security.password.pool-size:0}") int poolSize,
+                                  @Value("${security.password.queue-capacity:0}") int queueCapacity,
+                                  @Value("${security.password.timeout-ms:5000}") long timeoutMs,
+                                  @Value("${security.password.rehash-threads:0}") int rehashThreads) {
+        this.passwordEncoder = passwordEncoder;
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        int capacity = queueCapacity > 0 ? queueCapacity : threads * 8;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(capacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.timeoutMs = timeoutMs;
+        this.rehashPermits = new Semaphore(rehashThreads > 0 ? rehashThreads : Math.max(1, threads / 4));
+        this.rehashWriter = new ThreadPoolExecutor(
+            1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(REHASH_WRITE_QUEUE),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-rehash-writer");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy()
+        );
+        // Temps BCrypt seul (exécuté dans le pool, sans l'attente dans la file)
+        this.encodeTimer = hashingTimer(registry, "encode");
+        this.matchesTimer = hashingTimer(registry, "matches");
+        new ExecutorServiceMetrics(executor, "password-hashing", Tags.empty()).bindTo(registry);
+        logger.info("Password hashing pool: {} threads, queue of {}", threads, capacity);
+    }
+
+    private static Timer hashingTimer(MeterRegistry registry, String operation) {
+        return Timer.builder("auth.password.hashing")
+            .description("Durée d'un calcul BCrypt")
+            .tag("operation", operation)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    /**
+     * Choisir le coût BCrypt le plus élevé dont un hachage reste sous la latence cible
+     * (chaque point de coût double le temps de calcul)
+     */
+    public static int calibrateStrength(long targetMs, int minStrength, int maxStrength) {
+        int probeStrength = minStrength;
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(probeStrength);
+        // Premier appel pour le chargement des classes et le JIT, puis meilleur de trois mesures
+        probe.encode("calibration");
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+        double probeMs = Math.max(bestNanos / 1_000_000.0, 0.001);
+        int strength = probeStrength + (int) Math.floor(Math.log(targetMs / probeMs) / Math.log(2));
+        strength = Math.max(minStrength, Math.min(maxStrength, strength));
+        logger.info("BCrypt strength {} chosen ({} ms at strength {}, target {} ms)",
+            strength, String.format("%.1f", probeMs), probeStrength, targetMs);
+        return strength;
+    }
+
+    /**
+     * Hacher un mot de passe
+     */
+    public String encode(String rawPassword) {
+        return await(() -> encodeTimer.recordCallable(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    /**
+     * Vérifier un mot de passe contre son hash
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return await(() -> matchesTimer.recordCallable(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Le hash a-t-il été calculé avec un coût inférieur au coût actuel ?
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Recalculer le hash au coût actuel en arrière-plan, puis le passer à onRehashed sur le thread
+     * d'écriture. Ignoré si des hachages attendent déjà ou si la part des rehash est prise
+     * (ce sera refait à la prochaine connexion)
+     */
+    public void rehashAsync(String rawPassword, Consumer<String> onRehashed) {
+        if (!executor.getQueue().isEmpty() || !rehashPermits.tryAcquire()) {
+            logger.debug("Password rehash skipped, hashing pool is busy");
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                String hash;
+                try {
+                    hash = encodeTimer.record(() -> passwordEncoder.encode(rawPassword));
+                } catch (Exception e) {
+                    logger.warn("Password rehash failed: {}", e.getMessage());
+                    return;
+                } finally {
+                    rehashPermits.release();
+                }
+                rehashWriter.execute(() -> {
+                    try {
+                        onRehashed.accept(hash);
+                    } catch (Exception e) {
+                        logger.warn("Password rehash failed: {}", e.getMessage());
+                    }
+                });
+            });
+        } catch (RejectedExecutionException e) {
+            rehashPermits.release();
+            logger.debug("Password rehash skipped, hashing pool is full");
+        }
+    }
+
+    private <T> T await(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceBusyException("Serveur surchargé, veuillez réessayer", RETRY_AFTER_SECONDS);
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceBusyException("Serveur surchargé, veuillez réessayer", RETRY_AFTER_SECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Hachage du mot de passe interrompu", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new IllegalStateException("Erreur lors du hachage du mot de passe", e.getCause());
+        }
+    }
+
+    /**
+     * Nombre de hachages en attente dans la file
+     */
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        rehashWriter.shutdown();
+    }
+}
@@ -0,0 +1,100 @@
+package com.guelyatime.security;
+
+import com.guelyatime.exception.InvalidCredentialsException;
+import com.guelyatime.model.User;
+import com.guelyatime.repository.RefreshTokenRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Refresh tokens opaques à rotation
+ *
+ * Chaque utilisation remplace le token par un nouveau de la même famille. Présenter un token
+ * déjà remplacé signifie qu'il a été volé (ou rejoué): toute la famille est révoquée et
+ * l'utilisateur doit se reconnecter. Le renouvellement ne fait aucun calcul BCrypt.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SecureRandom random = new SecureRandom();
+    private final long expirationMillis;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${jwt.refresh.expiration-days:30}") long expirationDays) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.expirationMillis = expirationDays * 24 * 60 * 60 * 1000;
+    }
+
+    /**
+     * Résultat d'une rotation: l'utilisateur et son nouveau refresh token
+     */
+    public record Rotation(User user, String refreshToken) {}
+
+    /**
+     * Créer le premier token d'une nouvelle famille (connexion), dans sa propre transaction courte
+     */
+    @Transactional
+    public String issue(String userId) {
+        return issue(userId, UUID.randomUUID().toString());
+    }
+
+    private String issue(String userId, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.create(userId, TokenHashes.sha256(token), familyId, System.currentTimeMillis() + expirationMillis);
+        return token;
+    }
+
+    /**
+     * Échanger un refresh token contre un nouveau
+     *
+     * @throws InvalidCredentialsException si le token est inconnu, expiré, révoqué ou déjà utilisé
+     */
+    // La révocation de la famille doit être validée même si la rotation est refusée
+    @Transactional(noRollbackFor = InvalidCredentialsException.class)
+    public Rotation rotate(String refreshToken) {
+        RefreshTokenRepository.ConsumedToken consumed = refreshTokenRepository.consume(TokenHashes.sha256(refreshToken))
+            .orElseThrow(RefreshTokenService::sessionExpired);
+
+        if (consumed.usedBefore() != null) {
+            logger.warn("Refresh token reuse detected for user {}, revoking family {}",
+                consumed.userId(), consumed.familyId());
+            refreshTokenRepository.revokeFamily(consumed.familyId());
+            throw sessionExpired();
+        }
+        if (consumed.revoked() || consumed.expiresAt() <= System.currentTimeMillis() || !consumed.active()) {
+            throw sessionExpired();
+        }
+
+        User user = new User(consumed.username(), consumed.email(), null);
+        user.setId(consumed.userId());
+        return new Rotation(user, issue(consumed.userId(), consumed.familyId()));
+    }
+
+    /**
+     * Révoquer la famille d'un refresh token (déconnexion); sans effet si le token est inconnu
+     */
+    @Transactional
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.consume(TokenHashes.sha256(refreshToken))
+            .ifPresent(consumed -> refreshTokenRepository.revokeFamily(consumed.familyId()));
+    }
+
+    private static InvalidCredentialsException sessionExpired() {
+        return new InvalidCredentialsException("Session expirée, veuillez vous reconnecter");
+    }
+}
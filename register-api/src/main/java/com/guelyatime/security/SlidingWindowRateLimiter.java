@@ -0,0 +1,165 @@
+package com.guelyatime.security;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Limiteur de débit par clé (IP, email...) à fenêtre glissante
+ *
+ * Chaque clé garde le compteur de la fenêtre courante et celui de la précédente; le nombre
+ * de requêtes sur la dernière fenêtre est estimé en pondérant la précédente par la part qui
+ * chevauche encore. Les clés sont réparties sur des segments verrouillés séparément, chacun
+ * borné (les clés les moins récemment vues sont retirées en premier).
+ */
+public class SlidingWindowRateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final int limit;
+    private final long windowMillis;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public SlidingWindowRateLimiter(int limit, long windowMillis, int maxKeys) {
+        this.limit = limit;
+        this.windowMillis = windowMillis;
+        int keysPerStripe = Math.max(16, maxKeys / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(keysPerStripe);
+        }
+    }
+
+    /**
+     * Compter une requête pour la clé; false si la limite est atteinte (la requête n'est pas comptée)
+     */
+    public boolean tryAcquire(String key) {
+        return tryAcquire(key, System.currentTimeMillis());
+    }
+
+    boolean tryAcquire(String key, long now) {
+        Stripe stripe = stripeOf(key);
+        synchronized (stripe) {
+            Window window = stripe.get(key);
+            if (window == null) {
+                window = new Window(now - now % windowMillis);
+                stripe.put(key, window);
+            }
+            window.advance(now, windowMillis);
+            if (window.estimate(now, windowMillis) >= limit) {
+                return false;
+            }
+            window.current++;
+            return true;
+        }
+    }
+
+    /**
+     * Vrai si la limite est atteinte pour la clé, sans compter de requête (voir record)
+     */
+    public boolean isLimited(String key) {
+        return isLimited(key, System.currentTimeMillis());
+    }
+
+    boolean isLimited(String key, long now) {
+        Stripe stripe = stripeOf(key);
+        synchronized (stripe) {
+            Window window = stripe.get(key);
+            if (window == null) return false;
+            window.advance(now, windowMillis);
+            return window.estimate(now, windowMillis) >= limit;
+        }
+    }
+
+    /**
+     * Compter un événement pour la clé sans condition (par exemple un échec de connexion)
+     */
+    public void record(String key) {
+        record(key, System.currentTimeMillis());
+    }
+
+    void record(String key, long now) {
+        Stripe stripe = stripeOf(key);
+        synchronized (stripe) {
+            Window window = stripe.get(key);
+            if (window == null) {
+                window = new Window(now - now % windowMillis);
+                stripe.put(key, window);
+            }
+            window.advance(now, windowMillis);
+            window.current++;
+        }
+    }
+
+    /**
+     * Secondes avant le début de la prochaine fenêtre (valeur de Retry-After)
+     */
+    public long retryAfterSeconds() {
+        long now = System.currentTimeMillis();
+        long remaining = windowMillis - now % windowMillis;
+        return Math.max(1, (remaining + 999) / 1000);
+    }
+
+    /**
+     * Nombre de clés suivies
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeOf(String key) {
+        return stripes[stripeIndex(key)];
+    }
+
+    static int stripeIndex(String key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return hash & (STRIPES - 1);
+    }
+
+    // Compteurs d'une clé, alignés sur des fenêtres fixes
+    private static final class Window {
+
+        private long start;
+        private int previous;
+        private int current;
+
+        Window(long start) {
+            this.start = start;
+        }
+
+        void advance(long now, long windowMillis) {
+            long elapsedWindows = (now - start) / windowMillis;
+            if (elapsedWindows <= 0) return;
+            // Une seule fenêtre écoulée: la courante devient la précédente; plus: tout est expiré
+            previous = elapsedWindows == 1 ? current : 0;
+            current = 0;
+            start += elapsedWindows * windowMillis;
+        }
+
+        double estimate(long now, long windowMillis) {
+            double overlap = 1.0 - (double) (now - start) / windowMillis;
+            return previous * overlap + current;
+        }
+    }
+
+    // Segment: LRU borné en ordre d'accès
+    private static final class Stripe extends LinkedHashMap<String, Window> {
+
+        private final int maxKeys;
+
+        Stripe(int maxKeys) {
+            super(16, 0.75f, true);
+            this.maxKeys = maxKeys;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+            return size() > maxKeys;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.guelyatime.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Empreintes SHA-256 des tokens (cache des tokens vérifiés, refresh tokens stockés en base)
+ *
+ * Les tokens sont aléatoires et longs: un hachage rapide suffit, pas besoin de BCrypt.
+ */
+public final class TokenHashes {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    });
+
+    private TokenHashes() {}
+
+    /**
+     * SHA-256 du token, encodé en base64 sans padding
+     */
+    public static String sha256(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().withoutPadding().encodeToString(hash);
+    }
+}
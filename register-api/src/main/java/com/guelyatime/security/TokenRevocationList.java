@@ -0,0 +1,123 @@
+package com.guelyatime.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Liste des tokens révoqués (déconnexion) jusqu'à leur expiration
+ *
+ * Un filtre de Bloom répond en O(1) et sans allocation pour l'immense majorité des tokens,
+ * qui ne sont pas révoqués; seuls ses positifs sont confirmés dans la table exacte, ce qui
+ * élimine les faux positifs. Le filtre est reconstruit sans les révocations expirées.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int REBUILD_INTERVAL = 1024;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final int expectedRevocations;
+    private volatile BloomFilter filter;
+    private int revocationsSinceRebuild;
+
+    public TokenRevocationList(@Value("${jwt.revocation.expected-insertions:100000}") int expectedRevocations) {
+        this.expectedRevocations = expectedRevocations;
+        this.filter = new BloomFilter(expectedRevocations, FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Révoquer un token jusqu'à son expiration
+     */
+    public synchronized void revoke(String revocationId, long expiresAt) {
+        if (expiresAt <= System.currentTimeMillis()) return;
+        revoked.put(revocationId, expiresAt);
+        filter.add(revocationId);
+        if (++revocationsSinceRebuild >= REBUILD_INTERVAL) {
+            rebuild();
+        }
+    }
+
+    public boolean isRevoked(String revocationId) {
+        if (!filter.mightContain(revocationId)) return false;
+        Long expiresAt = revoked.get(revocationId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    // Un filtre de Bloom ne supprime pas: on repart des seules révocations encore valides
+    private void rebuild() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2), FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+        revocationsSinceRebuild = 0;
+    }
+
+    /**
+     * Filtre de Bloom à k hachages dérivés de deux hachages 64 bits (double hachage)
+     */
+    static final class BloomFilter {
+
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashCount;
+
+        BloomFilter(int expectedInsertions, double falsePositiveRate) {
+            long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) Math.max(1, (bits + 63) / 64));
+            this.bitCount = words.length() * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        }
+
+        void add(String value) {
+            long h1 = hash1(value);
+            long h2 = hash2(value);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = words.get(word);
+                    if ((current & mask) != 0) break;
+                } while (!words.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String value) {
+            long h1 = hash1(value);
+            long h2 = hash2(value);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+            }
+            return true;
+        }
+
+        // FNV-1a 64 bits
+        private static long hash1(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+
+        // Mélange de String.hashCode (impair pour parcourir tous les bits)
+        private static long hash2(String value) {
+            long hash = value.hashCode() * 0x9E3779B97F4A7C15L;
+            hash ^= hash >>> 32;
+            return hash | 1L;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.guelyatime.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache borné des tokens déjà vérifiés, indexé par le SHA-256 du token
+ *
+ * Un client qui renvoie le même token évite la vérification de signature et le décodage
+ * base64/JSON. Une entrée n'est plus servie après l'expiration du token; le token lui-même
+ * n'est pas conservé en mémoire, seulement son empreinte.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Map<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    public VerifiedTokenCache(@Value("${jwt.cache.max-size:10000}") int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Token vérifié: claims et identifiant de révocation (jti, ou empreinte si le token n'en a pas)
+     */
+    public record VerifiedToken(Claims claims, String revocationId, long expiresAt) {
+
+        public String userId() {
+            return claims.getSubject();
+        }
+
+        boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+
+    /**
+     * Empreinte SHA-256 du token (clé du cache)
+     */
+    public String hash(String token) {
+        return TokenHashes.sha256(token);
+    }
+
+    /**
+     * Token vérifié non expiré, ou null
+     */
+    public VerifiedToken get(String tokenHash) {
+        VerifiedToken entry = entries.get(tokenHash);
+        if (entry == null) return null;
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(tokenHash, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Identifiant de révocation d'un token: son jti, ou son empreinte pour les tokens émis sans jti
+     */
+    public static String revocationId(Claims claims, String tokenHash) {
+        return claims.getId() != null ? claims.getId() : tokenHash;
+    }
+
+    public VerifiedToken put(String tokenHash, Claims claims) {
+        // Sans expiration, l'entrée n'est jamais servie depuis le cache
+        long expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : 0L;
+        VerifiedToken entry = new VerifiedToken(claims, revocationId(claims, tokenHash), expiresAt);
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        // Toujours plein: le token n'est pas mis en cache, il sera revérifié
+        if (entries.size() < maxSize) {
+            entries.put(tokenHash, entry);
+        }
+        return entry;
+    }
+
+    public void invalidate(String tokenHash) {
+        entries.remove(tokenHash);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Retirer les entrées expirées, puis un quart du cache si cela ne suffit pas
+     */
+    private synchronized void evict() {
+        if (entries.size() < maxSize) return;
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+        int excess = entries.size() - maxSize * 3 / 4;
+        Iterator<VerifiedToken> iterator = entries.values().iterator();
+        while (excess-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
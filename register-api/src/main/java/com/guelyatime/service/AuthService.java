@@ -3,63 +3,79 @@ package com.guelyatime.service;
 import com.guelyatime.dto.RegisterRequest;
 import com.guelyatime.dto.LoginRequest;
 import com.guelyatime.dto.AuthResponse;
-import com.guelyatime.exception.EmailAlreadyExistsException;
-import com.guelyatime.exception.UsernameAlreadyExistsException;
+import com.guelyatime.dto.RefreshRequest;
 import com.guelyatime.exception.InvalidCredentialsException;
 import com.guelyatime.model.User;
+import com.guelyatime.repository.UserCredentials;
 import com.guelyatime.repository.UserRepository;
 import com.guelyatime.security.JwtService;
+import com.guelyatime.security.PasswordHashingService;
+import com.guelyatime.security.RefreshTokenService;
+import com.guelyatime.security.TokenRevocationList;
+import com.guelyatime.security.VerifiedTokenCache;
 
-import org.springframework.security.crypto.password.PasswordEncoder;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+
+import io.micrometer.core.annotation.Timed;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service d'authentification pour l'inscription et la connexion
+ *
+ * register et login ne sont pas transactionnels: le calcul BCrypt (et l'attente d'une place dans
+ * le pool de hachage) se fait hors de toute transaction, sans retenir de connexion Neo4j.
+ * Chaque lecture ou écriture ouvre sa propre transaction courte.
  */
 @Service
 public class AuthService {
 
+    private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
+
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashing;
     private final JwtService jwtService;
+    private final VerifiedTokenCache tokenCache;
+    private final TokenRevocationList revocationList;
+    private final RefreshTokenService refreshTokenService;
 
     public AuthService(UserRepository userRepository, 
-                       PasswordEncoder passwordEncoder,
-                       JwtService jwtService) {
+                       PasswordHashingService passwordHashing,
+                       JwtService jwtService,
+                       VerifiedTokenCache tokenCache,
+                       TokenRevocationList revocationList,
+                       RefreshTokenService refreshTokenService) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashing = passwordHashing;
         this.jwtService = jwtService;
+        this.tokenCache = tokenCache;
+        this.revocationList = revocationList;
+        this.refreshTokenService = refreshTokenService;
     }
 
     /**
      * Inscription d'un nouvel utilisateur
      */
-    @Transactional
+    @Timed(value = "auth.requests", extraTags = {"operation", "register"}, histogram = true)
     public AuthResponse register(RegisterRequest request) {
-        // Vérifier si le nom d'utilisateur existe déjà
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new UsernameAlreadyExistsException(
-                "Ce nom d'utilisateur est déjà utilisé"
-            );
-        }
-
-        // Vérifier si l'email existe déjà
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new EmailAlreadyExistsException(
-                "Cet email est déjà utilisé"
-            );
-        }
+        // Hacher le mot de passe avant d'ouvrir la transaction d'écriture
+        String passwordHash = passwordHashing.encode(request.getPassword());
 
         // Créer le nouvel utilisateur
         User user = new User();
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail().toLowerCase());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHash);
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
 
-        // Sauvegarder l'utilisateur
+        // Une seule écriture: un doublon de username ou d'email est refusé par les contraintes
+        // d'unicité de Neo4j (DataIntegrityViolationException, traitée par GlobalExceptionHandler).
+        // save est transactionnel à lui seul
         User savedUser = userRepository.save(user);
 
         return AuthResponse.registered(savedUser);
@@ -68,32 +84,87 @@ public class AuthService {
     /**
      * Connexion d'un utilisateur
      */
-    @Transactional(readOnly = true)
+    @Timed(value = "auth.requests", extraTags = {"operation", "login"}, histogram = true)
     public AuthResponse login(LoginRequest request) {
-        // Trouver l'utilisateur par email
-        User user = userRepository.findByEmail(request.getEmail().toLowerCase())
+        // Trouver l'utilisateur par email (projection, sans hydrater l'entité)
+        UserCredentials credentials = userRepository.findCredentialsByEmail(request.getEmail().toLowerCase())
             .orElseThrow(() -> new InvalidCredentialsException(
                 "Email ou mot de passe incorrect"
             ));
 
-        // Vérifier le mot de passe
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        // Vérifier le mot de passe, hors transaction
+        if (!passwordHashing.matches(request.getPassword(), credentials.passwordHash())) {
             throw new InvalidCredentialsException(
                 "Email ou mot de passe incorrect"
             );
         }
 
         // Vérifier que le compte est actif
-        if (!user.isActive()) {
+        if (!credentials.active()) {
             throw new InvalidCredentialsException(
                 "Ce compte a été désactivé"
             );
         }
 
-        // Générer le token JWT
+        // Hash calculé avec un ancien coût: le mettre à jour en arrière-plan (écriture hors du pool de hachage)
+        if (passwordHashing.needsRehash(credentials.passwordHash())) {
+            String userId = credentials.id();
+            passwordHashing.rehashAsync(request.getPassword(), hash -> {
+                userRepository.updatePassword(userId, hash);
+                logger.debug("Password rehashed for user {}", userId);
+            });
+        }
+
+        // Générer le token JWT (courte durée) et le refresh token qui permettra de le renouveler,
+        // écrit dans sa propre transaction une fois le mot de passe vérifié
+        User user = credentials.toUser();
         String token = jwtService.generateToken(user);
+        String refreshToken = refreshTokenService.issue(user.getId());
+
+        return AuthResponse.success(user, token, refreshToken);
+    }
+
+    /**
+     * Renouvellement de session: nouveau token JWT et nouveau refresh token, sans mot de passe
+     * (donc sans BCrypt)
+     */
+    @Timed(value = "auth.requests", extraTags = {"operation", "refresh"}, histogram = true)
+    public AuthResponse refresh(RefreshRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        String token = jwtService.generateToken(rotation.user());
+
+        return AuthResponse.refreshed(token, rotation.refreshToken());
+    }
+
+    /**
+     * Déconnexion: le token est révoqué jusqu'à son expiration, ainsi que la famille
+     * du refresh token s'il est fourni
+     */
+    public void logout(String token, String refreshToken) {
+        boolean refreshRevoked = refreshToken != null && !refreshToken.isBlank();
+        if (refreshRevoked) {
+            refreshTokenService.revoke(refreshToken);
+        }
+        if (token == null) {
+            if (refreshRevoked) return;
+            throw new InvalidCredentialsException("Token manquant");
+        }
+
+        Claims claims;
+        try {
+            claims = jwtService.parseClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            // Token d'accès déjà expiré: rien à révoquer si la session l'a été par le refresh token
+            if (refreshRevoked) return;
+            throw new InvalidCredentialsException("Token invalide ou expiré");
+        }
 
-        return AuthResponse.success(user, token);
+        String tokenHash = tokenCache.hash(token);
+        revocationList.revoke(
+            VerifiedTokenCache.revocationId(claims, tokenHash),
+            claims.getExpiration().getTime()
+        );
+        tokenCache.invalidate(tokenHash);
     }
 
     /**
@@ -0,0 +1,96 @@
+package com.guelyatime.benchmark;
+
+import com.guelyatime.model.User;
+import com.guelyatime.security.JwtProperties;
+import com.guelyatime.security.JwtService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH du coût par token de JwtService
+ *
+ * Compare la vérification avec clé et parser pré-construits à l'ancienne version
+ * (dérivation de la clé et construction du parser à chaque appel).
+ * Lancement: exécuter main() depuis l'IDE, ou après "mvn -pl register-api test-compile":
+ * java -cp target/test-classes:target/classes:&lt;classpath de test&gt; org.openjdk.jmh.Main JwtServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "mySecretKeyForGuelyaTimeApplicationThatIsAtLeast256BitsLong!";
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+    private String previousKeyToken;
+
+    @Setup
+    public void setUp() {
+        JwtProperties previous = new JwtProperties();
+        previous.setSecret(SECRET);
+        JwtService previousService = new JwtService(previous);
+
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setKeys(Map.of("2024-10", "anotherSecretKeyForGuelyaTimeRotationTestsAtLeast256Bits!"));
+        properties.setActiveKeyId("2024-10");
+        jwtService = new JwtService(properties);
+
+        user = new User("benchmark", "benchmark@guelyatime.com", "hash");
+        user.setId("6f1c2a9e-4b7d-4e0a-9c3f-1d2e3f4a5b6c");
+        token = jwtService.generateToken(user);
+        previousKeyToken = previousService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtService.isTokenValid(token);
+    }
+
+    @Benchmark
+    public boolean validatePreviousKeyToken() {
+        return jwtService.isTokenValid(previousKeyToken);
+    }
+
+    @Benchmark
+    public String extractUserId() {
+        return jwtService.extractUserId(token);
+    }
+
+    /**
+     * Référence: clé dérivée et parser construit à chaque vérification (version précédente)
+     */
+    @Benchmark
+    public Object validateTokenPerCallParser() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(previousKeyToken)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtServiceBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,88 @@
+package com.guelyatime.benchmark;
+
+import com.guelyatime.GuelyaTimeApplication;
+import com.guelyatime.model.User;
+import com.guelyatime.repository.UserCredentials;
+import com.guelyatime.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH des lectures du chemin de connexion: requête dérivée SDN (entité User complète)
+ * contre la projection Neo4jClient et l'existence par count
+ *
+ * Nécessite une base Neo4j locale (jamais Aura): -Dbenchmark.neo4j.uri, -Dbenchmark.neo4j.password.
+ * L'allocation par appel s'obtient avec le profileur GC de JMH (-prof gc).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserLoginQueryBenchmark {
+
+    private static final String EMAIL = "benchmark.login@guelyatime.com";
+    private static final String USERNAME = "benchmark_login";
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(GuelyaTimeApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                "--spring.neo4j.uri=" + System.getProperty("benchmark.neo4j.uri", "bolt://localhost:7687"),
+                "--spring.neo4j.authentication.username=" + System.getProperty("benchmark.neo4j.username", "neo4j"),
+                "--spring.neo4j.authentication.password=" + System.getProperty("benchmark.neo4j.password", "password"),
+                "--security.password.strength=4",
+                "--logging.level.com.guelyatime=WARN",
+                "--logging.level.org.springframework.security=WARN"
+            );
+        userRepository = context.getBean(UserRepository.class);
+        if (!userRepository.existsByEmail(EMAIL)) {
+            userRepository.save(new User(USERNAME, EMAIL, "$2a$04$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchm"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Référence: requête dérivée, entité User hydratée par SDN
+     */
+    @Benchmark
+    public Optional<User> derivedFindByEmail() {
+        return userRepository.findByEmail(EMAIL);
+    }
+
+    @Benchmark
+    public Optional<UserCredentials> projectionFindCredentialsByEmail() {
+        return userRepository.findCredentialsByEmail(EMAIL);
+    }
+
+    @Benchmark
+    public boolean countExistsByEmail() {
+        return userRepository.existsByEmail(EMAIL);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(UserLoginQueryBenchmark.class.getSimpleName())
+            .addProfiler("gc")
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,236 @@
+package com.guelyatime.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Test de charge de /api/auth/login et /api/auth/register contre une instance locale de register-api
+ *
+ * Chaque client virtuel enchaîne ses requêtes sans thread dédié (HttpClient asynchrone), ce qui
+ * permet des milliers de clients simultanés depuis un seul poste. Pour comparer les modes
+ * d'exécution, lancer le même test contre l'API démarrée avec puis sans le profil virtual-threads.
+ * L'API doit tourner avec le profil loadtest (Neo4j local de loadtest/docker-compose.yml, limites
+ * de débit relevées car tous les clients partagent la même IP), jamais contre Aura.
+ *
+ * Lancement: mvn -pl register-api -Ploadtest test-compile exec:java [-Dloadtest.profile=...]
+ *
+ * Paramètres (propriétés système):
+ * - loadtest.url       : URL de l'API (http://localhost:8081)
+ * - loadtest.profile   : paliers "clients:secondes", voir LoadProfile (sinon charge constante)
+ * - loadtest.clients   : nombre de clients de la charge constante (1000)
+ * - loadtest.duration  : durée de la charge constante en secondes (30)
+ * - loadtest.scenario  : login, register ou mixed (mixed)
+ * - loadtest.register-ratio : part des inscriptions en mode mixed (0.1)
+ * - loadtest.users     : comptes créés avant la mesure pour les connexions (200)
+ * - loadtest.max-p99-ms, loadtest.max-error-rate : seuils au-delà desquels le test échoue (code 1)
+ */
+public class AuthLoadTest {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final long TICK_MILLIS = 100;
+
+    private final String baseUrl;
+    private final LoadProfile profile;
+    private final String scenario;
+    private final double registerRatio;
+    private final int users;
+
+    private final HttpClient http;
+    private final AuthPayloads payloads = new AuthPayloads();
+    private final AtomicInteger userSequence = new AtomicInteger();
+    // Un couple de mesures (login, register) par palier du profil
+    private final List<LatencyRecorder[]> stageRecorders = new ArrayList<>();
+    private final LatencyRecorder totalLogin = new LatencyRecorder("login");
+    private final LatencyRecorder totalRegister = new LatencyRecorder("register");
+
+    private final AtomicIntegerArray running;
+    private final AtomicInteger activeLoops = new AtomicInteger();
+    private volatile long startNanos;
+
+    public AuthLoadTest(String baseUrl, LoadProfile profile, String scenario, double registerRatio, int users) {
+        this.baseUrl = baseUrl;
+        this.profile = profile;
+        this.scenario = scenario;
+        this.registerRatio = registerRatio;
+        this.users = Math.max(1, users);
+        this.http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        this.running = new AtomicIntegerArray(profile.maxClients());
+        for (int i = 0; i < profile.getStages().size(); i++) {
+            stageRecorders.add(new LatencyRecorder[] {
+                new LatencyRecorder("login"), new LatencyRecorder("register")
+            });
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String profileSpec = System.getProperty("loadtest.profile");
+        LoadProfile profile = profileSpec != null
+            ? LoadProfile.parse(profileSpec)
+            : LoadProfile.constant(Integer.getInteger("loadtest.clients", 1000), Integer.getInteger("loadtest.duration", 30));
+        AuthLoadTest test = new AuthLoadTest(
+            System.getProperty("loadtest.url", "http://localhost:8081"),
+            profile,
+            System.getProperty("loadtest.scenario", "mixed"),
+            Double.parseDouble(System.getProperty("loadtest.register-ratio", "0.1")),
+            Integer.getInteger("loadtest.users", 200)
+        );
+        test.run();
+
+        boolean passed = test.checkThresholds(
+            Double.parseDouble(System.getProperty("loadtest.max-p99-ms", "0")),
+            Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0")));
+        System.exit(passed ? 0 : 1);
+    }
+
+    public void run() throws InterruptedException {
+        if (!scenario.equals("register")) {
+            System.out.println("Creating " + users + " accounts for login...");
+            seedUsers();
+        }
+
+        System.out.printf(Locale.ROOT, "Running %s, up to %d clients for %ds against %s%n",
+            scenario, profile.maxClients(), profile.totalMillis() / 1000, baseUrl);
+        startNanos = System.nanoTime();
+        long totalMillis = profile.totalMillis();
+        int lastStage = -1;
+        // Démarrer les clients manquants à chaque tick; ceux en trop s'arrêtent d'eux-mêmes
+        while (elapsedMillis() < totalMillis) {
+            long elapsed = elapsedMillis();
+            int target = profile.targetClients(elapsed);
+            for (int client = 0; client < target; client++) {
+                if (running.compareAndSet(client, 0, 1)) {
+                    activeLoops.incrementAndGet();
+                    clientLoop(client);
+                }
+            }
+            int stage = profile.stageAt(elapsed);
+            if (stage != lastStage) {
+                System.out.printf(Locale.ROOT, "[%5.1fs] stage %d: %d -> %d clients%n",
+                    elapsed / 1000.0, stage + 1, target, profile.getStages().get(stage).clients());
+                lastStage = stage;
+            }
+            Thread.sleep(TICK_MILLIS);
+        }
+        // Attendre les requêtes en cours
+        long drainDeadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+        while (activeLoops.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(TICK_MILLIS);
+        }
+
+        report();
+    }
+
+    // Comptes pour les connexions, créés par lots de 50 requêtes simultanées
+    private void seedUsers() {
+        LatencyRecorder seeding = new LatencyRecorder("seed");
+        for (int first = 0; first < users; first += 50) {
+            int batch = Math.min(50, users - first);
+            CompletableFuture<?>[] requests = new CompletableFuture<?>[batch];
+            for (int i = 0; i < batch; i++) {
+                String json = payloads.toJson(payloads.register(userSequence.getAndIncrement()));
+                requests[i] = send(post("/api/auth/register", json), seeding, null);
+            }
+            CompletableFuture.allOf(requests).join();
+        }
+        System.out.println(seeding.summary());
+    }
+
+    // Un client: une requête à la fois, la suivante dès la réponse reçue, tant que le profil le prévoit
+    private void clientLoop(int client) {
+        long elapsed = elapsedMillis();
+        if (elapsed >= profile.totalMillis() || client >= profile.targetClients(elapsed)) {
+            running.set(client, 0);
+            activeLoops.decrementAndGet();
+            return;
+        }
+        LatencyRecorder[] stage = stageRecorders.get(profile.stageAt(elapsed));
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean register = scenario.equals("register")
+            || (scenario.equals("mixed") && random.nextDouble() < registerRatio);
+        CompletableFuture<Void> request;
+        if (register) {
+            String json = payloads.toJson(payloads.register(userSequence.getAndIncrement()));
+            request = send(post("/api/auth/register", json), stage[1], totalRegister);
+        } else {
+            String json = payloads.toJson(payloads.login(random.nextInt(users)));
+            request = send(post("/api/auth/login", json), stage[0], totalLogin);
+        }
+        // Asynchrone: une réponse déjà reçue ne fait pas grossir la pile d'appels
+        request.thenRunAsync(() -> clientLoop(client));
+    }
+
+    private CompletableFuture<Void> send(HttpRequest request, LatencyRecorder recorder, LatencyRecorder total) {
+        long start = System.nanoTime();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+            .handle((response, error) -> {
+                long latency = System.nanoTime() - start;
+                int status = response != null ? response.statusCode() : -1;
+                recorder.record(latency, status);
+                if (total != null) total.record(latency, status);
+                return null;
+            });
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json))
+            .build();
+    }
+
+    private long elapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private void report() {
+        List<LoadProfile.Stage> stages = profile.getStages();
+        for (int i = 0; i < stages.size(); i++) {
+            LoadProfile.Stage stage = stages.get(i);
+            if (stage.durationMillis() == 0) continue;
+            double seconds = stage.durationMillis() / 1000.0;
+            System.out.printf(Locale.ROOT, "Stage %d (-> %d clients, %.0fs)%n", i + 1, stage.clients(), seconds);
+            for (LatencyRecorder recorder : stageRecorders.get(i)) {
+                if (recorder.getCount() > 0) System.out.println("  " + recorder.report(seconds));
+            }
+        }
+        double totalSeconds = profile.totalMillis() / 1000.0;
+        System.out.println("Total");
+        System.out.println("  " + totalLogin.report(totalSeconds));
+        System.out.println("  " + totalRegister.report(totalSeconds));
+    }
+
+    /**
+     * Vérifier les seuils de non-régression (0 = pas de seuil) sur l'ensemble du test
+     */
+    public boolean checkThresholds(double maxP99Ms, double maxErrorRate) {
+        boolean passed = true;
+        for (LatencyRecorder recorder : List.of(totalLogin, totalRegister)) {
+            if (recorder.getCount() == 0) continue;
+            double p99 = recorder.percentileMs(99);
+            if (maxP99Ms > 0 && p99 > maxP99Ms) {
+                System.out.printf(Locale.ROOT, "FAILED: %s p99 %.1f ms > %.1f ms%n", recorder.getName(), p99, maxP99Ms);
+                passed = false;
+            }
+            if (maxErrorRate > 0 && recorder.errorRate() > maxErrorRate) {
+                System.out.printf(Locale.ROOT, "FAILED: %s error rate %.3f > %.3f%n",
+                    recorder.getName(), recorder.errorRate(), maxErrorRate);
+                passed = false;
+            }
+        }
+        return passed;
+    }
+}
@@ -0,0 +1,83 @@
+package com.guelyatime.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guelyatime.dto.LoginRequest;
+import com.guelyatime.dto.RegisterRequest;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Corps de requête réalistes pour le test de charge, construits avec les DTO de l'API
+ *
+ * Noms et prénoms variés (accents compris), domaines d'email courants, mots de passe
+ * de longueurs différentes respectant les règles de RegisterRequest.
+ */
+public class AuthPayloads {
+
+    private static final List<String> FIRST_NAMES = List.of(
+        "Amina", "Youssef", "Léa", "Hugo", "Inès", "Mehdi", "Chloé", "Lucas", "Salomé", "Rayan",
+        "Zoé", "Gabriel", "Maëlys", "Noé", "Anaïs", "Karim", "Elodie", "Théo", "Yasmine", "Jérôme");
+    private static final List<String> LAST_NAMES = List.of(
+        "Martin", "Benali", "Dubois", "El Amrani", "Lefèvre", "Moreau", "Haddad", "Fontaine",
+        "Garnier", "Rousseau", "Chevalier", "Bouzid", "Lambert", "Faure", "Mercier", "Girard");
+    private static final List<String> DOMAINS = List.of(
+        "gmail.com", "yahoo.fr", "outlook.com", "hotmail.fr", "orange.fr", "free.fr", "proton.me");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Préfixe propre à l'exécution: les comptes créés ne rentrent pas en conflit avec les précédents
+    private final String runId = Long.toString(System.currentTimeMillis() % 60_466_176L, 36);
+
+    /**
+     * Inscription du n-ième utilisateur de l'exécution
+     */
+    public RegisterRequest register(int user) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String firstName = FIRST_NAMES.get(random.nextInt(FIRST_NAMES.size()));
+        String lastName = LAST_NAMES.get(random.nextInt(LAST_NAMES.size()));
+        // Certains utilisateurs ne renseignent pas leur nom
+        boolean anonymous = random.nextInt(10) == 0;
+        return new RegisterRequest(
+            username(user),
+            email(user),
+            password(user),
+            anonymous ? null : firstName,
+            anonymous ? null : lastName
+        );
+    }
+
+    /**
+     * Connexion du n-ième utilisateur (email avec une casse variable, comme saisi par l'utilisateur)
+     */
+    public LoginRequest login(int user) {
+        String email = email(user);
+        if (ThreadLocalRandom.current().nextInt(5) == 0) {
+            email = Character.toUpperCase(email.charAt(0)) + email.substring(1);
+        }
+        return new LoginRequest(email, password(user));
+    }
+
+    public String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Payload serialization failed", e);
+        }
+    }
+
+    // Au plus 20 caractères, lettres, chiffres et underscores
+    private String username(int user) {
+        return "lt" + runId + "_" + Integer.toString(user, 36);
+    }
+
+    private String email(int user) {
+        return username(user) + "@" + DOMAINS.get(user % DOMAINS.size());
+    }
+
+    // Déterministe pour pouvoir se reconnecter: 10 à 17 caractères, majuscule, minuscule et chiffre
+    private String password(int user) {
+        String base = "Guelya" + Integer.toString(user * 7919 + 1000, 36);
+        return base + "x".repeat(user % 6) + (user % 10);
+    }
+}
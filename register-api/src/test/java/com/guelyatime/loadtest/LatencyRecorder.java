@@ -0,0 +1,89 @@
+package com.guelyatime.loadtest;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Latences et statuts HTTP d'un endpoint pendant un test de charge
+ */
+public class LatencyRecorder {
+
+    private final String name;
+    private long[] latencies = new long[1 << 16];
+    private int count;
+    private long success;
+    private long rejected;
+    private long errors;
+
+    public LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Enregistrer une réponse (status -1: échec réseau ou timeout)
+     */
+    public synchronized void record(long latencyNanos, int status) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (status >= 200 && status < 300) {
+            success++;
+        } else if (status == 503 || status == 429) {
+            rejected++;
+        } else {
+            errors++;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    /**
+     * Part des réponses hors 2xx (refus 429/503 compris)
+     */
+    public synchronized double errorRate() {
+        return count == 0 ? 0.0 : (double) (rejected + errors) / count;
+    }
+
+    /**
+     * Latence au percentile donné (0-100), en millisecondes
+     */
+    public synchronized double percentileMs(double percentile) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return percentileMs(sorted, percentile);
+    }
+
+    /**
+     * Ligne de résumé sans débit (phase de préparation)
+     */
+    public synchronized String summary() {
+        return String.format(Locale.ROOT, "%-10s %8d req | 2xx %8d | 429/503 %7d | errors %6d",
+            name, count, success, rejected, errors);
+    }
+
+    /**
+     * Ligne de rapport: débit et percentiles sur la durée mesurée
+     */
+    public synchronized String report(double elapsedSeconds) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return String.format(Locale.ROOT,
+            "%-10s %8d req %9.1f req/s | 2xx %8d | 429/503 %7d | errors %6d | p50 %8.1f ms | p90 %8.1f ms | p99 %8.1f ms | max %8.1f ms",
+            name, count, count / Math.max(elapsedSeconds, 0.001), success, rejected, errors,
+            percentileMs(sorted, 50), percentileMs(sorted, 90), percentileMs(sorted, 99), percentileMs(sorted, 100));
+    }
+
+    // Latence au percentile donné (0-100) d'un tableau trié, en millisecondes
+    private static double percentileMs(long[] sorted, double percentile) {
+        if (sorted.length == 0) return 0.0;
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1_000_000.0;
+    }
+}
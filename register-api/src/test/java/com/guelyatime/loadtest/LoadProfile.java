@@ -0,0 +1,98 @@
+package com.guelyatime.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Profil de charge: suite de paliers "clients:secondes"
+ *
+ * Chaque palier passe linéairement du nombre de clients du palier précédent (0 au départ)
+ * à son propre nombre, pendant sa durée. Exemple: "200:30,1000:60,1000:120" monte à 200
+ * clients en 30 s, puis à 1000 en 60 s, et tient 1000 clients pendant 2 minutes.
+ * Une durée de 0 fait passer directement au nombre de clients du palier.
+ */
+public class LoadProfile {
+
+    /**
+     * Palier: nombre de clients visé à la fin, durée en millisecondes
+     */
+    public record Stage(int clients, long durationMillis) {}
+
+    private final List<Stage> stages;
+
+    public LoadProfile(List<Stage> stages) {
+        if (stages.isEmpty()) {
+            throw new IllegalArgumentException("Load profile needs at least one stage");
+        }
+        this.stages = List.copyOf(stages);
+    }
+
+    public static LoadProfile parse(String profile) {
+        List<Stage> stages = new ArrayList<>();
+        for (String stage : profile.split(",")) {
+            String[] parts = stage.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid stage '" + stage + "', expected clients:seconds");
+            }
+            stages.add(new Stage(Integer.parseInt(parts[0].trim()), Long.parseLong(parts[1].trim()) * 1000));
+        }
+        return new LoadProfile(stages);
+    }
+
+    /**
+     * Charge constante: tous les clients dès le départ, pendant la durée donnée
+     */
+    public static LoadProfile constant(int clients, long seconds) {
+        return new LoadProfile(List.of(new Stage(clients, 0), new Stage(clients, seconds * 1000)));
+    }
+
+    public List<Stage> getStages() {
+        return stages;
+    }
+
+    public long totalMillis() {
+        long total = 0;
+        for (Stage stage : stages) {
+            total += stage.durationMillis();
+        }
+        return total;
+    }
+
+    public int maxClients() {
+        int max = 0;
+        for (Stage stage : stages) {
+            max = Math.max(max, stage.clients());
+        }
+        return max;
+    }
+
+    /**
+     * Index du palier en cours au temps donné (le dernier une fois le profil terminé)
+     */
+    public int stageAt(long elapsedMillis) {
+        long stageEnd = 0;
+        for (int i = 0; i < stages.size(); i++) {
+            stageEnd += stages.get(i).durationMillis();
+            if (elapsedMillis < stageEnd) return i;
+        }
+        return stages.size() - 1;
+    }
+
+    /**
+     * Nombre de clients visé au temps donné
+     */
+    public int targetClients(long elapsedMillis) {
+        int from = 0;
+        long stageStart = 0;
+        for (Stage stage : stages) {
+            long stageEnd = stageStart + stage.durationMillis();
+            if (elapsedMillis < stageEnd) {
+                double progress = (double) (elapsedMillis - stageStart) / stage.durationMillis();
+                return (int) Math.round(from + (stage.clients() - from) * progress);
+            }
+            from = stage.clients();
+            stageStart = stageEnd;
+        }
+        return elapsedMillis < stageStart ? from : 0;
+    }
+}
@@ -0,0 +1,100 @@
+package com.guelyatime.security;
+
+import com.guelyatime.model.User;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires du filtre d'authentification Bearer
+ */
+class JwtAuthenticationFilterTest {
+
+    private JwtService jwtService;
+    private VerifiedTokenCache tokenCache;
+    private TokenRevocationList revocationList;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(new JwtProperties());
+        tokenCache = new VerifiedTokenCache(100);
+        revocationList = new TokenRevocationList(1000);
+        filter = new JwtAuthenticationFilter(jwtService, tokenCache, revocationList);
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private String tokenFor(String userId) {
+        User user = new User("john_doe", "john@example.com", null);
+        user.setId(userId);
+        return jwtService.generateToken(user);
+    }
+
+    private Authentication authenticate(String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        // La requête continue toujours: SecurityConfig décide du 401
+        assertNotNull(chain.getRequest());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Test
+    @DisplayName("sans en-tête Authorization, la requête n'est pas authentifiée")
+    void testMissingToken() throws Exception {
+        assertNull(authenticate(null));
+        assertNull(authenticate("Basic am9objpzZWNyZXQ="));
+        assertNull(authenticate("Bearer "));
+    }
+
+    @Test
+    @DisplayName("un token invalide n'authentifie pas et n'est pas mis en cache")
+    void testInvalidToken() throws Exception {
+        String token = tokenFor("user-1");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertNull(authenticate("Bearer " + tampered));
+        assertNull(authenticate("Bearer not-a-jwt"));
+        assertEquals(0, tokenCache.size());
+    }
+
+    @Test
+    @DisplayName("un token valide authentifie l'utilisateur de son subject")
+    void testValidToken() throws Exception {
+        Authentication authentication = authenticate("Bearer " + tokenFor("user-1"));
+
+        assertNotNull(authentication);
+        assertTrue(authentication.isAuthenticated());
+        assertEquals("user-1", authentication.getPrincipal());
+        assertEquals(1, tokenCache.size());
+    }
+
+    @Test
+    @DisplayName("un token révoqué n'authentifie plus, même déjà présent dans le cache")
+    void testRevokedToken() throws Exception {
+        String token = tokenFor("user-1");
+        VerifiedTokenCache.VerifiedToken verified = filter.verify(token);
+        assertNotNull(verified);
+
+        revocationList.revoke(verified.revocationId(), verified.expiresAt());
+
+        assertNull(authenticate("Bearer " + token));
+    }
+}
@@ -0,0 +1,123 @@
+package com.guelyatime.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires du limiteur à fenêtre glissante (horloge injectée)
+ */
+class SlidingWindowRateLimiterTest {
+
+    private static final long WINDOW = 1000;
+
+    @Test
+    @DisplayName("la limite est atteinte dans la fenêtre courante")
+    void testLimitReached() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(3, WINDOW, 1000);
+
+        assertTrue(limiter.tryAcquire("ip", 100));
+        assertTrue(limiter.tryAcquire("ip", 200));
+        assertTrue(limiter.tryAcquire("ip", 300));
+        assertFalse(limiter.tryAcquire("ip", 400));
+        // Une requête refusée n'est pas comptée, les autres clés ne sont pas touchées
+        assertFalse(limiter.tryAcquire("ip", 999));
+        assertTrue(limiter.tryAcquire("other", 400));
+    }
+
+    @Test
+    @DisplayName("la fenêtre précédente compte au prorata de son chevauchement")
+    void testPreviousWindowDecays() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(3, WINDOW, 1000);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("ip", 100));
+        }
+
+        // Début de la fenêtre suivante: la précédente compte encore entièrement
+        assertFalse(limiter.tryAcquire("ip", 1000));
+        // A mi-fenêtre elle ne compte plus que pour 1.5: deux requêtes passent
+        assertTrue(limiter.tryAcquire("ip", 1500));
+        assertTrue(limiter.tryAcquire("ip", 1500));
+        assertFalse(limiter.tryAcquire("ip", 1500));
+    }
+
+    @Test
+    @DisplayName("tout est oublié après deux fenêtres ou plus")
+    void testResetAfterTwoWindows() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(3, WINDOW, 1000);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("ip", 900));
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("ip", 2000));
+        }
+        assertFalse(limiter.tryAcquire("ip", 2000));
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("ip", 10_500));
+        }
+    }
+
+    @Test
+    @DisplayName("chaque segment retire la clé la moins récemment vue au-delà de sa capacité")
+    void testLruEvictionPerStripe() {
+        // maxKeys = 0: 16 clés par segment au minimum
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(1, WINDOW, 0);
+        List<String> keys = keysInSameStripe(18);
+        String oldest = keys.get(0);
+        String touched = keys.get(1);
+
+        assertTrue(limiter.tryAcquire(oldest, 100));
+        assertTrue(limiter.tryAcquire(touched, 100));
+        for (String key : keys.subList(2, 16)) {
+            assertTrue(limiter.tryAcquire(key, 100));
+        }
+        assertEquals(16, limiter.size());
+
+        // Accéder à une clé la rend la plus récente, même si la requête est refusée
+        assertFalse(limiter.tryAcquire(touched, 100));
+        assertTrue(limiter.tryAcquire(keys.get(16), 100));
+        assertEquals(16, limiter.size());
+
+        // La plus ancienne a été retirée: son compteur repart de zéro
+        assertTrue(limiter.tryAcquire(oldest, 100));
+        // touched est restée suivie jusqu'ici, keys[2] a été retirée à son tour
+        assertFalse(limiter.tryAcquire(touched, 100));
+        assertTrue(limiter.tryAcquire(keys.get(2), 100));
+    }
+
+    @Test
+    @DisplayName("isLimited ne compte rien, seuls les événements enregistrés comptent")
+    void testCheckAndRecord() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(2, WINDOW, 1000);
+
+        for (int i = 0; i < 5; i++) {
+            assertFalse(limiter.isLimited("email", 100));
+        }
+        assertEquals(0, limiter.size());
+
+        limiter.record("email", 200);
+        assertFalse(limiter.isLimited("email", 300));
+        limiter.record("email", 400);
+        assertTrue(limiter.isLimited("email", 500));
+        // Les échecs expirent comme les requêtes
+        assertFalse(limiter.isLimited("email", 2500));
+    }
+
+    private static List<String> keysInSameStripe(int count) {
+        int stripe = SlidingWindowRateLimiter.stripeIndex("key-0");
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; keys.size() < count; i++) {
+            String key = "key-" + i;
+            if (SlidingWindowRateLimiter.stripeIndex(key) == stripe) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}
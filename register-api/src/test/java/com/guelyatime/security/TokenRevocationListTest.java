@@ -0,0 +1,82 @@
+package com.guelyatime.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires de la liste de révocation et de son filtre de Bloom
+ */
+class TokenRevocationListTest {
+
+    private static final long HOUR = 3_600_000;
+
+    @Test
+    @DisplayName("un token révoqué est reconnu, les autres non")
+    void testRevokedAndUnrevoked() {
+        TokenRevocationList list = new TokenRevocationList(1000);
+        list.revoke("jti-1", System.currentTimeMillis() + HOUR);
+
+        assertTrue(list.isRevoked("jti-1"));
+        assertFalse(list.isRevoked("jti-2"));
+        assertEquals(1, list.size());
+    }
+
+    @Test
+    @DisplayName("une révocation cesse à l'expiration du token")
+    void testExpiredRevocation() throws InterruptedException {
+        TokenRevocationList list = new TokenRevocationList(1000);
+        // Déjà expiré: rien à révoquer
+        list.revoke("expired", System.currentTimeMillis() - 1);
+        list.revoke("short", System.currentTimeMillis() + 50);
+
+        assertFalse(list.isRevoked("expired"));
+        assertEquals(1, list.size());
+        assertTrue(list.isRevoked("short"));
+
+        Thread.sleep(100);
+        assertFalse(list.isRevoked("short"));
+    }
+
+    @Test
+    @DisplayName("les révocations valides survivent à la reconstruction du filtre, pas les expirées")
+    void testSurvivesRebuild() throws InterruptedException {
+        TokenRevocationList list = new TokenRevocationList(100);
+        long validUntil = System.currentTimeMillis() + HOUR;
+        list.revoke("first", validUntil);
+        list.revoke("short", System.currentTimeMillis() + 20);
+        Thread.sleep(50);
+
+        // Dépasser l'intervalle de reconstruction (1024), et la capacité initiale du filtre
+        for (int i = 0; i < 2000; i++) {
+            list.revoke("jti-" + i, validUntil);
+        }
+
+        assertTrue(list.isRevoked("first"));
+        for (int i = 0; i < 2000; i++) {
+            assertTrue(list.isRevoked("jti-" + i), "jti-" + i);
+        }
+        assertFalse(list.isRevoked("short"));
+        assertFalse(list.isRevoked("never-revoked"));
+        assertEquals(2001, list.size());
+    }
+
+    @Test
+    @DisplayName("le filtre de Bloom n'a pas de faux négatif et respecte à peu près son taux de faux positifs")
+    void testBloomFilter() {
+        TokenRevocationList.BloomFilter filter = new TokenRevocationList.BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("in-" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("in-" + i));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("out-" + i)) falsePositives++;
+        }
+        assertTrue(falsePositives < 3_000, "false positives: " + falsePositives);
+    }
+}
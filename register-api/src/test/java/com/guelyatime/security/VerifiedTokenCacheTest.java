@@ -0,0 +1,99 @@
+package com.guelyatime.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires du cache des tokens vérifiés
+ */
+class VerifiedTokenCacheTest {
+
+    private static final long HOUR = 3_600_000;
+
+    private static Claims claims(String jti, long expiresAt) {
+        return Jwts.claims()
+            .subject("user-" + jti)
+            .id(jti)
+            .expiration(new Date(expiresAt))
+            .build();
+    }
+
+    @Test
+    @DisplayName("un token vérifié est servi depuis le cache avec son jti comme identifiant de révocation")
+    void testHit() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        String hash = cache.hash("token");
+        cache.put(hash, claims("jti-1", System.currentTimeMillis() + HOUR));
+
+        VerifiedTokenCache.VerifiedToken cached = cache.get(hash);
+        assertNotNull(cached);
+        assertEquals("user-jti-1", cached.userId());
+        assertEquals("jti-1", cached.revocationId());
+        assertNull(cache.get(cache.hash("other")));
+    }
+
+    @Test
+    @DisplayName("sans jti, l'empreinte du token sert d'identifiant de révocation")
+    void testRevocationIdWithoutJti() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        String hash = cache.hash("token");
+        Claims claims = Jwts.claims().subject("user").expiration(new Date(System.currentTimeMillis() + HOUR)).build();
+
+        assertEquals(hash, cache.put(hash, claims).revocationId());
+    }
+
+    @Test
+    @DisplayName("une entrée n'est plus servie après l'expiration du token")
+    void testExpiry() throws InterruptedException {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        String expired = cache.hash("expired");
+        String shortLived = cache.hash("short");
+        cache.put(expired, claims("a", System.currentTimeMillis() - 1));
+        cache.put(shortLived, claims("b", System.currentTimeMillis() + 50));
+
+        assertNull(cache.get(expired));
+        assertNotNull(cache.get(shortLived));
+        Thread.sleep(100);
+        assertNull(cache.get(shortLived));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("le cache reste borné par maxSize et retire d'abord les entrées expirées")
+    void testMaxSizeEviction() throws InterruptedException {
+        VerifiedTokenCache cache = new VerifiedTokenCache(4);
+        long validUntil = System.currentTimeMillis() + HOUR;
+        for (int i = 0; i < 20; i++) {
+            cache.put(cache.hash("token-" + i), claims("jti-" + i, validUntil));
+            assertTrue(cache.size() <= 4);
+        }
+        // Le dernier token est toujours mis en cache
+        assertNotNull(cache.get(cache.hash("token-19")));
+
+        VerifiedTokenCache expiring = new VerifiedTokenCache(4);
+        for (int i = 0; i < 4; i++) {
+            expiring.put(expiring.hash("old-" + i), claims("old-" + i, System.currentTimeMillis() + 20));
+        }
+        Thread.sleep(50);
+        expiring.put(expiring.hash("new"), claims("new", validUntil));
+        assertEquals(1, expiring.size());
+    }
+
+    @Test
+    @DisplayName("invalidate retire l'entrée")
+    void testInvalidate() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        String hash = cache.hash("token");
+        cache.put(hash, claims("jti", System.currentTimeMillis() + HOUR));
+
+        cache.invalidate(hash);
+        assertNull(cache.get(hash));
+    }
+}